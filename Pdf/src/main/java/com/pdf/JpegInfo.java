@@ -0,0 +1,103 @@
+package com.pdf;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * JPEG信息
+ * 从文件头解析尺寸、颜色通道数、位深和Exif方向，用于判断能否不解码直接写入Pdf
+ * Created by lishilin on 2026/10/18
+ */
+class JpegInfo {
+
+    int width;
+    int height;
+    int components;// 颜色通道数
+    int bitsPerComponent;// 位深
+    int orientation;// Exif方向
+    int frameMarker;// SOF标记(C0~CF)
+
+    /**
+     * 解析文件头
+     *
+     * @param header 文件头
+     * @param length 文件头长度
+     * @return JpegInfo，不是JPEG或文件头中没有SOF时返回null
+     */
+    static JpegInfo parse(byte[] header, int length) {
+        if (length < 4 || (header[0] & 0xFF) != 0xFF || (header[1] & 0xFF) != 0xD8) {
+            return null;
+        }
+
+        int offset = 2;
+        while (offset + 4 <= length) {
+            if ((header[offset] & 0xFF) != 0xFF) {
+                return null;
+            }
+            final int marker = header[offset + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // 填充字节
+                offset++;
+                continue;
+            }
+            if (marker == 0xD8 || (marker >= 0xD0 && marker <= 0xD7) || marker == 0x01) {
+                // 没有长度的标记
+                offset += 2;
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                // 图片数据开始前都没有找到SOF
+                return null;
+            }
+
+            final int segmentLength = ((header[offset + 2] & 0xFF) << 8) | (header[offset + 3] & 0xFF);
+            // SOF0~SOF15，排除DHT(C4)、JPG(C8)、DAC(CC)
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                if (offset + 10 > length) {
+                    return null;
+                }
+                JpegInfo info = new JpegInfo();
+                info.frameMarker = marker;
+                info.bitsPerComponent = header[offset + 4] & 0xFF;
+                info.height = ((header[offset + 5] & 0xFF) << 8) | (header[offset + 6] & 0xFF);
+                info.width = ((header[offset + 7] & 0xFF) << 8) | (header[offset + 8] & 0xFF);
+                info.components = header[offset + 9] & 0xFF;
+                info.orientation = readOrientation(header, length);
+                return info;
+            }
+            offset += 2 + segmentLength;
+        }
+        return null;
+    }
+
+    /**
+     * 读取Exif方向
+     *
+     * @param header 文件头
+     * @param length 文件头长度
+     * @return Exif方向
+     */
+    private static int readOrientation(byte[] header, int length) {
+        try {
+            ExifInterface exif = new ExifInterface(new ByteArrayInputStream(header, 0, length));
+            return exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExifInterface.ORIENTATION_NORMAL;
+    }
+
+    /**
+     * 能否不解码直接写入Pdf(DCTDecode)
+     * 只支持Huffman编码的基线、扩展、渐进式(SOF0~SOF2)8位灰度、RGB图片；
+     * 无损、差分、算术编码等Pdf阅读器普遍不支持的编码和CMYK等其它格式需要解码
+     *
+     * @return boolean
+     */
+    boolean isPassthrough() {
+        return frameMarker >= 0xC0 && frameMarker <= 0xC2
+                && width > 0 && height > 0 && bitsPerComponent == 8 && (components == 1 || components == 3);
+    }
+
+}
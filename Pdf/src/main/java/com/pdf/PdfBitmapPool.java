@@ -0,0 +1,242 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bitmap复用池
+ * 按Bitmap占用的字节数分桶，渲染目标和解码(inBitmap)优先从池中取出复用，超出容量时淘汰最早放入的Bitmap
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfBitmapPool {
+
+    private static final int MAX_SIZE_MULTIPLE = 2;// 复用的Bitmap最多比需要的大几倍，避免大图被小图占用
+
+    private final TreeMap<Integer, ArrayDeque<Bitmap>> buckets = new TreeMap<>();// 字节数 -> Bitmap
+    private final ArrayDeque<Bitmap> order = new ArrayDeque<>();// 放入顺序，用于淘汰
+
+    private long maxSize;
+    private long currentSize;
+
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+
+    /**
+     * @param maxSize 最多缓存的字节数
+     */
+    public PdfBitmapPool(long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * 获取Bitmap(用于渲染)
+     * 池中没有合适的Bitmap时新建，返回的Bitmap已清空为透明
+     *
+     * @param width  宽
+     * @param height 高
+     * @param config config
+     * @return Bitmap
+     */
+    public Bitmap get(int width, int height, Bitmap.Config config) {
+        return get(width, height, config, null);
+    }
+
+    /**
+     * 获取Bitmap(用于渲染)，新建时记录到统计中
+     *
+     * @param width   宽
+     * @param height  高
+     * @param config  config
+     * @param metrics 任务统计，可为null
+     * @return Bitmap
+     */
+    Bitmap get(int width, int height, Bitmap.Config config, PdfMetrics metrics) {
+        Bitmap bitmap = getReusable(width, height, config);
+        if (bitmap != null) {
+            bitmap.reconfigure(width, height, config);
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return bitmap;
+        }
+        if (metrics != null) {
+            metrics.addAllocation();
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * 获取可复用的Bitmap(用于BitmapFactory.Options.inBitmap)
+     * 返回的Bitmap内容未清空，尺寸可能与需要的不同，但占用的内存足够
+     *
+     * @param width  宽
+     * @param height 高
+     * @param config config
+     * @return Bitmap，没有合适的返回null
+     */
+    public synchronized Bitmap getReusable(int width, int height, Bitmap.Config config) {
+        final long byteCount = (long) width * height * getBytesPerPixel(config);
+        if (byteCount <= 0 || byteCount > Integer.MAX_VALUE) {
+            missCount++;
+            return null;
+        }
+
+        Map.Entry<Integer, ArrayDeque<Bitmap>> entry = buckets.ceilingEntry((int) byteCount);
+        if (entry == null || entry.getKey() > byteCount * MAX_SIZE_MULTIPLE) {
+            missCount++;
+            return null;
+        }
+
+        ArrayDeque<Bitmap> bucket = entry.getValue();
+        Bitmap bitmap = bucket.pollLast();
+        if (bucket.isEmpty()) {
+            buckets.remove(entry.getKey());
+        }
+        order.remove(bitmap);
+        currentSize -= entry.getKey();
+        hitCount++;
+        return bitmap;
+    }
+
+    /**
+     * 放入Bitmap
+     * 放入后调用方不能再使用该Bitmap，不可复用的Bitmap会直接回收
+     *
+     * @param bitmap Bitmap
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        final int byteCount = bitmap.getAllocationByteCount();
+        if (!bitmap.isMutable() || byteCount > maxSize) {
+            bitmap.recycle();
+            return;
+        }
+
+        ArrayDeque<Bitmap> bucket = buckets.get(byteCount);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets.put(byteCount, bucket);
+        }
+        bucket.offerLast(bitmap);
+        order.offerLast(bitmap);
+        currentSize += byteCount;
+        putCount++;
+
+        trimToSize(maxSize);
+    }
+
+    /**
+     * 设置最多缓存的字节数
+     *
+     * @param maxSize 字节数
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        trimToSize(this.maxSize);
+    }
+
+    /**
+     * 清空
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    /**
+     * 淘汰最早放入的Bitmap，直到不超过指定大小
+     *
+     * @param size 字节数
+     */
+    private void trimToSize(long size) {
+        while (currentSize > size && !order.isEmpty()) {
+            Bitmap bitmap = order.pollFirst();
+            final int byteCount = bitmap.getAllocationByteCount();
+            ArrayDeque<Bitmap> bucket = buckets.get(byteCount);
+            if (bucket != null) {
+                Iterator<Bitmap> iterator = bucket.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next() == bitmap) {
+                        iterator.remove();
+                        break;
+                    }
+                }
+                if (bucket.isEmpty()) {
+                    buckets.remove(byteCount);
+                }
+            }
+            currentSize -= byteCount;
+            evictionCount++;
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * 获取每个像素占用的字节数
+     *
+     * @param config config
+     * @return 字节数
+     */
+    static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == null) {
+            return 4;
+        }
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            case RGBA_F16:
+                return 8;
+            default:
+                return 4;
+        }
+    }
+
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getPutCount() {
+        return putCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "PdfBitmapPool{" +
+                "maxSize=" + maxSize +
+                ", currentSize=" + currentSize +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", putCount=" + putCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+
+}
@@ -0,0 +1,398 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+/**
+ * 回调分发
+ * 将回调转发到指定的Executor(如主线程)执行，并按最小间隔合并进度回调：
+ * 间隔内的中间进度直接丢弃，第一次和最后一次进度总是回调；同一个Executor上的回调保持顺序；
+ * 逐页回调时读取线程等待onPage执行完再继续，Executor中最多只有一页，慢的调用方不会让页面堆积
+ * Created by lishilin on 2026/10/18
+ */
+class PdfCallbackDispatcher {
+
+    private final Executor executor;// 为null时在工作线程直接回调
+    private final long progressInterval;// 进度回调的最小间隔(毫秒)
+
+    private long lastProgressTime;
+    private long lastSaveProgressTime;
+
+    private PdfCallbackDispatcher(Executor executor, long progressInterval) {
+        this.executor = executor;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * 包装生成回调
+     *
+     * @param callback callback
+     * @param options  生成配置
+     * @return 未设置Executor和进度间隔时返回原callback
+     */
+    static PdfWriteCallback wrap(PdfWriteCallback callback, PdfWriteOptions options) {
+        if (options.getCallbackExecutor() == null && options.getProgressInterval() <= 0) {
+            return callback;
+        }
+        return new WriteCallback(callback, new PdfCallbackDispatcher(options.getCallbackExecutor(), options.getProgressInterval()));
+    }
+
+    /**
+     * 包装读取回调
+     *
+     * @param callback callback
+     * @param options  渲染配置
+     * @return 未设置Executor和进度间隔时返回原callback
+     */
+    static PdfReadCallback wrap(PdfReadCallback callback, PdfRenderOptions options) {
+        if (options.getCallbackExecutor() == null && options.getProgressInterval() <= 0) {
+            return callback;
+        }
+        return new ReadCallback(callback, new PdfCallbackDispatcher(options.getCallbackExecutor(), options.getProgressInterval()));
+    }
+
+    /**
+     * 包装逐页读取回调
+     *
+     * @param callback callback
+     * @param options  渲染配置
+     * @return 未设置Executor时返回原callback(逐页回调没有进度)
+     */
+    static PdfPageCallback wrap(PdfPageCallback callback, PdfRenderOptions options) {
+        if (options.getCallbackExecutor() == null) {
+            return callback;
+        }
+        return new PageCallback(callback, new PdfCallbackDispatcher(options.getCallbackExecutor(), 0));
+    }
+
+    /**
+     * 执行回调
+     *
+     * @param runnable runnable
+     */
+    private void post(Runnable runnable) {
+        if (executor == null) {
+            runnable.run();
+        } else {
+            executor.execute(runnable);
+        }
+    }
+
+    /**
+     * 进度是否需要回调
+     *
+     * @param index 当前第几个
+     * @param total 总共多少个
+     * @return boolean
+     */
+    private boolean acceptProgress(int index, int total) {
+        final long now = SystemClock.elapsedRealtime();
+        if (index <= 1 || index >= total || now - lastProgressTime >= progressInterval) {
+            lastProgressTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 保存进度是否需要回调
+     *
+     * @param progress 0~1
+     * @return boolean
+     */
+    private boolean acceptSaveProgress(float progress) {
+        final long now = SystemClock.elapsedRealtime();
+        if (progress >= 1 || now - lastSaveProgressTime >= progressInterval) {
+            lastSaveProgressTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 生成回调
+     */
+    private static class WriteCallback extends PdfWriteCallback {
+
+        private final PdfWriteCallback callback;
+        private final PdfCallbackDispatcher dispatcher;
+
+        private WriteCallback(PdfWriteCallback callback, PdfCallbackDispatcher dispatcher) {
+            this.callback = callback;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void onStart() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onStart();
+                }
+            });
+        }
+
+        @Override
+        public void onPlan(final PdfPlan plan) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onPlan(plan);
+                }
+            });
+        }
+
+        @Override
+        public void onProgress(final int index, final int total) {
+            if (!dispatcher.acceptProgress(index, total)) {
+                return;
+            }
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onProgress(index, total);
+                }
+            });
+        }
+
+        @Override
+        public void onInputStats(final int index, final PdfInputStats stats) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onInputStats(index, stats);
+                }
+            });
+        }
+
+        @Override
+        public void onSaveFile() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSaveFile();
+                }
+            });
+        }
+
+        @Override
+        public void onSaveProgress(final float progress) {
+            if (!dispatcher.acceptSaveProgress(progress)) {
+                return;
+            }
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSaveProgress(progress);
+                }
+            });
+        }
+
+        @Override
+        public void onSuccess(final PdfOutput output, final long length) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSuccess(output, length);
+                }
+            });
+        }
+
+        @Override
+        public void onMetrics(final PdfMetrics metrics) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onMetrics(metrics);
+                }
+            });
+        }
+
+        @Override
+        public void onCancel() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onCancel();
+                }
+            });
+        }
+
+        @Override
+        public void onFail(final Exception e) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onFail(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 读取回调
+     */
+    private static class ReadCallback extends PdfReadCallback {
+
+        private final PdfReadCallback callback;
+        private final PdfCallbackDispatcher dispatcher;
+
+        private ReadCallback(PdfReadCallback callback, PdfCallbackDispatcher dispatcher) {
+            this.callback = callback;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void onStart() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onStart();
+                }
+            });
+        }
+
+        @Override
+        public void onProgress(final int index, final int total) {
+            if (!dispatcher.acceptProgress(index, total)) {
+                return;
+            }
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onProgress(index, total);
+                }
+            });
+        }
+
+        @Override
+        public void onSuccess(final List<Bitmap> bitmapList) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSuccess(bitmapList);
+                }
+            });
+        }
+
+        @Override
+        public void onMetrics(final PdfMetrics metrics) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onMetrics(metrics);
+                }
+            });
+        }
+
+        @Override
+        public void onCancel() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onCancel();
+                }
+            });
+        }
+
+        @Override
+        public void onFail(final Exception e) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onFail(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 逐页读取回调
+     */
+    private static class PageCallback extends PdfPageCallback {
+
+        private final PdfPageCallback callback;
+        private final PdfCallbackDispatcher dispatcher;
+
+        private PageCallback(PdfPageCallback callback, PdfCallbackDispatcher dispatcher) {
+            this.callback = callback;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void onStart() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onStart();
+                }
+            });
+        }
+
+        @Override
+        public void onPage(final int pageIndex, final int total, final Bitmap bitmap) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        callback.onPage(pageIndex, total, bitmap);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+            // 等待页面被处理后再渲染下一页，保持逐页读取同一时间只有一页在内存中
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onComplete(final int total) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onComplete(total);
+                }
+            });
+        }
+
+        @Override
+        public void onMetrics(final PdfMetrics metrics) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onMetrics(metrics);
+                }
+            });
+        }
+
+        @Override
+        public void onCancel() {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onCancel();
+                }
+            });
+        }
+
+        @Override
+        public void onFail(final Exception e) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onFail(e);
+                }
+            });
+        }
+    }
+
+}
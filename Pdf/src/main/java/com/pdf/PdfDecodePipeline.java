@@ -0,0 +1,232 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+
+import java.io.Closeable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 图片解码流水线
+ * 线程池提前解码后续图片放入有界的预取队列，调用线程按顺序取出，
+ * 按生成计划中每页的采样解码，预取数量同时受线程数和内存上限(按计划中每页的解码内存累计)限制
+ * Created by lishilin on 2026/10/18
+ */
+class PdfDecodePipeline implements Closeable {
+
+    private static final int BYTES_PER_PIXEL = 4;// ARGB_8888
+    private static final long CHECK_CANCEL_INTERVAL = 50;// 等待解码时检查取消的间隔(毫秒)
+
+    /**
+     * 解码结果
+     */
+    static class Result {
+        Bitmap bitmap;// 方向校准前
+        int orientation;// Exif方向
+        PdfInputStats stats = new PdfInputStats();
+    }
+
+    private final PdfImageDecoder decoder;
+    private final PdfTask task;
+    private final PdfMetrics metrics;
+    private final PdfPlan plan;
+    private final int reqWidth;
+    private final int reqHeight;
+
+    private final int maxQueueSize;// 最多预取的图片数
+    private final long memoryLimit;// 预取的图片最多占用的内存
+    private final long fallbackBytes;// 计划中无法读取尺寸的图片按目标尺寸预估内存
+
+    private final ExecutorService executor;
+    private final Future<Result>[] futures;
+    private int submitIndex;// 下一个提交解码的位置
+    private int takeIndex;// 下一个取出的位置
+    private volatile boolean closed;
+
+    @SuppressWarnings("unchecked")
+    PdfDecodePipeline(PdfImageDecoder decoder, PdfTask task, PdfMetrics metrics, PdfPlan plan, int reqWidth, int reqHeight, int parallelism, long memoryLimit) {
+        this.decoder = decoder;
+        this.task = task;
+        this.metrics = metrics;
+        this.plan = plan;
+        this.reqWidth = reqWidth;
+        this.reqHeight = reqHeight;
+
+        this.maxQueueSize = parallelism * 2;
+        this.memoryLimit = memoryLimit;
+        this.fallbackBytes = (long) reqWidth * reqHeight * BYTES_PER_PIXEL;
+
+        if (parallelism > 1) {
+            executor = Executors.newFixedThreadPool(parallelism, new DecodeThreadFactory());
+            futures = new Future[plan.getPageCount()];
+        } else {
+            executor = null;
+            futures = null;
+        }
+    }
+
+    /**
+     * 按顺序取出解码结果
+     * 上一张图片的Bitmap在调用此方法前应已绘制完成并归还
+     *
+     * @return Result
+     * @throws InterruptedException  InterruptedException
+     * @throws ExecutionException    ExecutionException
+     * @throws CancellationException 任务已取消
+     */
+    Result take() throws InterruptedException, ExecutionException {
+        task.throwIfCancelled();
+
+        final int index = takeIndex++;
+        if (executor == null) {
+            return decode(index);
+        }
+
+        // 上一张已绘制完成，空出的位置继续预取
+        fill(index);
+        Future<Result> future = futures[index];
+        futures[index] = null;
+        while (true) {
+            try {
+                return future.get(CHECK_CANCEL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (task.isCancelled()) {
+                    // 交给close回收
+                    futures[index] = future;
+                    task.throwIfCancelled();
+                }
+            }
+        }
+    }
+
+    /**
+     * 提交解码任务，直到预取队列已满或预估内存超出上限(当前位置总是会提交)
+     *
+     * @param index 当前取出的位置
+     */
+    private void fill(int index) {
+        // 已提交未取出的图片预估内存(包含当前正在绘制的一张)
+        long bytes = 0;
+        for (int i = index; i < submitIndex; i++) {
+            bytes += getEstimateBytes(i);
+        }
+        while (submitIndex < plan.getPageCount()) {
+            // 提交后内存中的图片数
+            int count = submitIndex - index + 1;
+            bytes += getEstimateBytes(submitIndex);
+            if (submitIndex > index && (count > maxQueueSize || bytes > memoryLimit)) {
+                break;
+            }
+            final int position = submitIndex++;
+            futures[position] = executor.submit(new Callable<Result>() {
+                @Override
+                public Result call() {
+                    if (closed || task.isCancelled()) {
+                        return new Result();
+                    }
+                    // 已开始的解码总是完成，关闭时由close回收
+                    return decode(position);
+                }
+            });
+        }
+    }
+
+    /**
+     * 解码
+     *
+     * @param index 位置
+     * @return Result
+     */
+    private Result decode(int index) {
+        Result result = new Result();
+        PdfPagePlan page = plan.getPage(index);
+        result.stats.add(page.stats);
+        if (page.isValid()) {
+            result.bitmap = decoder.decode(page, result.stats);
+        } else {
+            // 文件头中无法读取尺寸，完整读取后解码
+            result.bitmap = decoder.decode(page, reqWidth, reqHeight, result.stats);
+        }
+        result.orientation = page.orientation;
+        return result;
+    }
+
+    /**
+     * 获取预估解码内存
+     *
+     * @param index 位置
+     * @return 字节数
+     */
+    private long getEstimateBytes(int index) {
+        PdfPagePlan page = plan.getPage(index);
+        return page.isValid() ? page.decodeBytes : fallbackBytes;
+    }
+
+    /**
+     * 关闭
+     * 未开始的解码直接结束，等待正在解码的图片完成后回收所有未取出的Bitmap，并计入读取的字节数；
+     * 不取消Future，否则正在解码的图片完成后无法取出回收
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(CHECK_CANCEL_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // 回收已解码但未取出的Bitmap
+        for (int i = 0; i < futures.length; i++) {
+            Future<Result> future = futures[i];
+            if (future == null) {
+                continue;
+            }
+            futures[i] = null;
+            try {
+                Result result = future.get();
+                metrics.addInputBytes(result.stats.getTotalBytes());
+                decoder.release(result.bitmap);
+            } catch (ExecutionException e) {
+                // 解码失败，没有Bitmap需要回收
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 解码线程
+     */
+    private static class DecodeThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "PdfDecode-" + count.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+
+}
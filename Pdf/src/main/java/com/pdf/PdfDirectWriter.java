@@ -0,0 +1,460 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Pdf直接写入
+ * 自行生成Pdf对象，每页写完立即输出，只在最后写入Pages、交叉引用表和文件尾，内存占用与页数无关；
+ * JPEG数据不解码、不重新编码，原样作为DCTDecode图片写入；
+ * 其他图片解码后以FlateDecode写入；两者都保持原始方向，Exif方向通过页面变换矩阵处理
+ * Created by lishilin on 2026/10/18
+ */
+class PdfDirectWriter {
+
+    private static final int HEADER_SIZE = 128 * 1024;// 读取的文件头大小(需包含Exif和SOF)
+    private static final int BUFFER_SIZE = 64 * 1024;// 拷贝缓冲区大小
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private final Context context;
+    private final PdfImageDecoder decoder;
+    private final PdfMetrics metrics;
+
+    PdfDirectWriter(Context context, PdfImageDecoder decoder, PdfMetrics metrics) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.decoder = decoder;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 写入Pdf
+     *
+     * @param plan     生成计划
+     * @param pageSize 页面尺寸
+     * @param out      输出流
+     * @param task     任务
+     * @param callback callback
+     * @throws IOException IOException
+     */
+    void write(PdfPlan plan, PdfPageSize pageSize, OutputStream out, PdfTask task, PdfWriteCallback callback) throws IOException {
+        final int size = plan.getPageCount();
+
+        PdfObjectWriter writer = new PdfObjectWriter(out);
+        writer.writeHeader();
+
+        final int catalog = writer.newObject();
+        final int pages = writer.newObject();
+        writer.writeObject(catalog, "<< /Type /Catalog /Pages " + pages + " 0 R >>");
+
+        // 创建页(每页写完后输出，只保留页对象编号)
+        final List<Integer> pageList = new ArrayList<>(size);
+        byte[] header = new byte[HEADER_SIZE];
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int i = 0; i < size; i++) {
+            task.throwIfCancelled();
+
+            callback.onProgress(i + 1, size);
+
+            PdfPagePlan pagePlan = plan.getPage(i);
+            PdfInputStats stats = new PdfInputStats();
+            stats.add(pagePlan.stats);
+            int page = writePage(writer, pagePlan, pages, pageSize, header, buffer, stats);
+            callback.onInputStats(i + 1, stats);
+            metrics.addInputBytes(stats.getTotalBytes());
+            if (page > 0) {
+                pageList.add(page);
+                writer.flush();
+            }
+        }
+        task.throwIfCancelled();
+
+        // 写入文件尾
+        callback.onSaveFile();
+
+        StringBuilder kids = new StringBuilder();
+        for (int page : pageList) {
+            kids.append(page).append(" 0 R ");
+        }
+        writer.writeObject(pages, "<< /Type /Pages /Kids [" + kids + "] /Count " + pageList.size() + " >>");
+        writer.writeTrailer(catalog);
+        callback.onSaveProgress(1);
+    }
+
+    /**
+     * 写入页面
+     *
+     * @param writer   writer
+     * @param pagePlan 单页计划
+     * @param parent   Pages对象编号
+     * @param pageSize 页面尺寸
+     * @param header   文件头缓冲区
+     * @param buffer   拷贝缓冲区
+     * @param stats    读取统计
+     * @return Page对象编号，图片无法读取时返回-1
+     * @throws IOException 写入失败
+     */
+    private int writePage(PdfObjectWriter writer, PdfPagePlan pagePlan, int parent, PdfPageSize pageSize, byte[] header, byte[] buffer, PdfInputStats stats) throws IOException {
+        final Uri uri = pagePlan.uri;
+        if (pagePlan.isValid() && !pagePlan.isPassthrough()) {
+            // 计划中已确定需要解码
+            return writeDecodedPage(writer, pagePlan, parent, pageSize, buffer, stats);
+        }
+
+        final int image;
+        final float[] size;
+        final float[] values;
+
+        InputStream inputStream;
+        try {
+            inputStream = open(uri, stats);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        }
+        try {
+            JpegInfo info;
+            final int headerLength;
+            if (pagePlan.jpegInfo != null) {
+                // 计划中已解析文件头，直接拷贝整个文件
+                info = pagePlan.jpegInfo;
+                headerLength = 0;
+            } else {
+                // 计划中无法读取，读取文件头
+                headerLength = readFully(inputStream, header);
+                stats.exifBytes += headerLength;
+                info = JpegInfo.parse(header, headerLength);
+                if (info != null && !(info.isPassthrough() && PdfPlanner.isOriginalSize(PdfPlanner.calculateScale(info.width, info.height, info.orientation, pageSize)))) {
+                    // 超出页面的解码尺寸时需要解码
+                    info = null;
+                }
+            }
+            if (info != null) {
+                // 原样拷贝JPEG数据
+                image = writer.newObject();
+                final long start = metrics.begin(PdfMetrics.STAGE_WRITE);
+                try {
+                    writeJpegImage(writer, image, info, header, headerLength, inputStream, buffer, stats);
+                } finally {
+                    metrics.end(PdfMetrics.STAGE_WRITE, start);
+                }
+                final boolean transposed = PdfImageDecoder.isTransposed(info.orientation);
+                size = pageSize.getPageSize(transposed ? info.height : info.width, transposed ? info.width : info.height);
+                values = getImageMatrix(pageSize.toPoint(info.width), pageSize.toPoint(info.height), info.orientation, size[0], size[1]);
+            } else {
+                image = -1;
+                size = null;
+                values = null;
+            }
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (image < 0) {
+            return writeDecodedPage(writer, pagePlan, parent, pageSize, buffer, stats);
+        }
+        return writePageObject(writer, image, values, parent, size[0], size[1]);
+    }
+
+    /**
+     * 解码后写入页面
+     *
+     * @param writer   writer
+     * @param pagePlan 单页计划
+     * @param parent   Pages对象编号
+     * @param pageSize 页面尺寸
+     * @param buffer   压缩缓冲区
+     * @param stats    读取统计
+     * @return Page对象编号，图片无法读取时返回-1
+     * @throws IOException 写入失败
+     */
+    private int writeDecodedPage(PdfObjectWriter writer, PdfPagePlan pagePlan, int parent, PdfPageSize pageSize, byte[] buffer, PdfInputStats stats) throws IOException {
+        final Bitmap bitmap;
+        if (pagePlan.isValid()) {
+            bitmap = decoder.decode(pagePlan, stats);
+        } else {
+            // 文件头中无法读取尺寸，完整读取后解码
+            bitmap = decoder.decode(pagePlan, pageSize.getDecodeWidth(), pageSize.getDecodeHeight(), stats);
+        }
+        if (bitmap == null) {
+            return -1;
+        }
+        try {
+            final int image = writer.newObject();
+            final long start = metrics.begin(PdfMetrics.STAGE_WRITE);
+            try {
+                writeBitmapImage(writer, image, bitmap, buffer);
+            } finally {
+                metrics.end(PdfMetrics.STAGE_WRITE, start);
+            }
+            final int width = bitmap.getWidth();
+            final int height = bitmap.getHeight();
+            final int orientation = pagePlan.orientation;
+            final boolean transposed = PdfImageDecoder.isTransposed(orientation);
+            float[] size = pageSize.getPageSize(transposed ? height : width, transposed ? width : height);
+            float[] values = getImageMatrix(pageSize.toPoint(width), pageSize.toPoint(height), orientation, size[0], size[1]);
+            return writePageObject(writer, image, values, parent, size[0], size[1]);
+        } finally {
+            decoder.release(bitmap);
+        }
+    }
+
+    /**
+     * 写入内容和页面对象
+     *
+     * @param writer     writer
+     * @param image      图片对象编号
+     * @param values     图片变换矩阵
+     * @param parent     Pages对象编号
+     * @param pageWidth  页面宽度(point)
+     * @param pageHeight 页面高度(point)
+     * @return Page对象编号
+     * @throws IOException 写入失败
+     */
+    private int writePageObject(PdfObjectWriter writer, int image, float[] values, int parent, float pageWidth, float pageHeight) throws IOException {
+        final int content = writer.newObject();
+        final int page = writer.newObject();
+
+        // 内容(按方向变换后等比缩放居中)
+        String operators = String.format(Locale.US, "q %.4f %.4f %.4f %.4f %.4f %.4f cm /Im0 Do Q",
+                values[0], values[1], values[2], values[3], values[4], values[5]);
+        writer.writeStreamObject(content, "", operators.getBytes(ASCII));
+
+        // 页面
+        writer.writeObject(page, "<< /Type /Page /Parent " + parent + " 0 R"
+                + String.format(Locale.US, " /MediaBox [0 0 %.2f %.2f]", pageWidth, pageHeight)
+                + " /Resources << /XObject << /Im0 " + image + " 0 R >> >>"
+                + " /Contents " + content + " 0 R >>");
+        return page;
+    }
+
+    /**
+     * 写入JPEG图片(不解码)
+     *
+     * @param writer       writer
+     * @param image        图片对象编号
+     * @param info         JPEG信息
+     * @param header       已读取的文件头
+     * @param headerLength 文件头长度，0表示没有读取文件头
+     * @param inputStream  文件头之后的数据(没有读取文件头时为完整数据)
+     * @param buffer       拷贝缓冲区
+     * @param stats        读取统计
+     * @throws IOException IOException
+     */
+    private void writeJpegImage(PdfObjectWriter writer, int image, JpegInfo info, byte[] header, int headerLength, InputStream inputStream, byte[] buffer, PdfInputStats stats) throws IOException {
+        final int length = writer.newObject();
+
+        writer.beginObject(image);
+        writer.write("<< /Type /XObject /Subtype /Image"
+                + " /Width " + info.width
+                + " /Height " + info.height
+                + " /ColorSpace " + (info.components == 1 ? "/DeviceGray" : "/DeviceRGB")
+                + " /BitsPerComponent 8"
+                + " /Filter /DCTDecode"
+                + " /Length " + length + " 0 R >>\nstream\n");
+        final long start = writer.getPosition();
+        writer.write(header, 0, headerLength);
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            writer.write(buffer, 0, read);
+            stats.decodeBytes += read;
+        }
+        final long streamLength = writer.getPosition() - start;
+        writer.write("\nendstream");
+        writer.endObject();
+        writer.writeObject(length, String.valueOf(streamLength));
+    }
+
+    /**
+     * 写入Bitmap图片(RGB，FlateDecode压缩)
+     * 逐行读取像素并压缩输出，透明部分按白色背景混合
+     *
+     * @param writer writer
+     * @param image  图片对象编号
+     * @param bitmap bitmap
+     * @param buffer 压缩缓冲区
+     * @throws IOException IOException
+     */
+    private void writeBitmapImage(PdfObjectWriter writer, int image, Bitmap bitmap, byte[] buffer) throws IOException {
+        final int width = bitmap.getWidth();
+        final int height = bitmap.getHeight();
+        final int length = writer.newObject();
+
+        writer.beginObject(image);
+        writer.write("<< /Type /XObject /Subtype /Image"
+                + " /Width " + width
+                + " /Height " + height
+                + " /ColorSpace /DeviceRGB"
+                + " /BitsPerComponent 8"
+                + " /Filter /FlateDecode"
+                + " /Length " + length + " 0 R >>\nstream\n");
+        final long start = writer.getPosition();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            int[] pixels = new int[width];
+            byte[] row = new byte[width * 3];
+            for (int y = 0; y < height; y++) {
+                bitmap.getPixels(pixels, 0, width, 0, y, width, 1);
+                for (int x = 0, i = 0; x < width; x++) {
+                    final int color = pixels[x];
+                    final int alpha = color >>> 24;
+                    int red = (color >> 16) & 0xFF;
+                    int green = (color >> 8) & 0xFF;
+                    int blue = color & 0xFF;
+                    if (alpha != 0xFF) {
+                        // 白色背景混合
+                        red = (red * alpha + 0xFF * (0xFF - alpha)) / 0xFF;
+                        green = (green * alpha + 0xFF * (0xFF - alpha)) / 0xFF;
+                        blue = (blue * alpha + 0xFF * (0xFF - alpha)) / 0xFF;
+                    }
+                    row[i++] = (byte) red;
+                    row[i++] = (byte) green;
+                    row[i++] = (byte) blue;
+                }
+                deflater.setInput(row);
+                while (!deflater.needsInput()) {
+                    int count = deflater.deflate(buffer);
+                    writer.write(buffer, 0, count);
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                writer.write(buffer, 0, count);
+            }
+        } finally {
+            deflater.end();
+        }
+        final long streamLength = writer.getPosition() - start;
+        writer.write("\nendstream");
+        writer.endObject();
+        writer.writeObject(length, String.valueOf(streamLength));
+    }
+
+    /**
+     * 计算图片变换矩阵
+     * Pdf中图片占据单位正方形(原点在左下角)，矩阵将其按Exif方向旋转/翻转后等比缩放(只缩小不放大)并居中到页面
+     *
+     * @param imageWidth  图片宽度(方向校准前，point)
+     * @param imageHeight 图片高度(方向校准前，point)
+     * @param orientation Exif方向
+     * @param pageWidth   页面宽度(point)
+     * @param pageHeight  页面高度(point)
+     * @return 矩阵 [a b c d e f]
+     */
+    static float[] getImageMatrix(float imageWidth, float imageHeight, int orientation, float pageWidth, float pageHeight) {
+        // 旋转后的尺寸
+        final boolean transposed = PdfImageDecoder.isTransposed(orientation);
+        float width = transposed ? imageHeight : imageWidth;
+        float height = transposed ? imageWidth : imageHeight;
+
+        // 缩放
+        if (width > pageWidth || height > pageHeight) {
+            float ratio = Math.min(pageWidth / width, pageHeight / height);
+            width *= ratio;
+            height *= ratio;
+        }
+        // 位移
+        final float left = (pageWidth - width) / 2;
+        final float bottom = (pageHeight - height) / 2;
+
+        // 图片坐标(s向右，t向下，范围0~1)到显示坐标(x向右，y向下，范围0~1)：x = p1*s + p2*t + p3，y = q1*s + q2*t + q3
+        final float[] m;// {p1, p2, p3, q1, q2, q3}
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                m = new float[]{-1, 0, 1, 0, 1, 0};
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                m = new float[]{-1, 0, 1, 0, -1, 1};
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                m = new float[]{1, 0, 0, 0, -1, 1};
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                m = new float[]{0, 1, 0, 1, 0, 0};
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                m = new float[]{0, -1, 1, 1, 0, 0};
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                m = new float[]{0, -1, 1, -1, 0, 1};
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                m = new float[]{0, 1, 0, -1, 0, 1};
+                break;
+            default:
+                m = new float[]{1, 0, 0, 0, 1, 0};
+                break;
+        }
+
+        // Pdf单位正方形坐标 u = s，v = 1 - t；页面坐标 X = left + width * x，Y = bottom + height * (1 - y)
+        return new float[]{
+                width * m[0],
+                -height * m[3],
+                -width * m[1],
+                height * m[4],
+                left + width * (m[1] + m[2]),
+                bottom + height - height * (m[4] + m[5]),
+        };
+    }
+
+    /**
+     * 打开数据源
+     *
+     * @param uri   uri
+     * @param stats 读取统计，可为null
+     * @return InputStream
+     * @throws FileNotFoundException FileNotFoundException
+     */
+    private InputStream open(Uri uri, PdfInputStats stats) throws FileNotFoundException {
+        final long start = metrics.begin(PdfMetrics.STAGE_OPEN);
+        final InputStream inputStream;
+        try {
+            inputStream = context.getContentResolver().openInputStream(uri);
+        } finally {
+            metrics.end(PdfMetrics.STAGE_OPEN, start);
+        }
+        if (inputStream == null) {
+            throw new FileNotFoundException("uri 无法打开：" + uri);
+        }
+        if (stats != null) {
+            stats.openCount++;
+        }
+        return inputStream;
+    }
+
+    /**
+     * 读满缓冲区或读到结尾
+     *
+     * @param inputStream inputStream
+     * @param buffer      缓冲区
+     * @return 读取的字节数
+     * @throws IOException IOException
+     */
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+}
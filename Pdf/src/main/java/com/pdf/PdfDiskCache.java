@@ -0,0 +1,526 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Pdf页面缓存(磁盘)
+ * 渲染后的页面压缩后保存在缓存目录，进程重启后仍可使用；按文件大小LRU淘汰，访问顺序和页面尺寸记录在journal中
+ * 写入在后台线程进行，不阻塞渲染；等待写入的页面过多时放弃写入，放弃的次数见 {@link #getDropCount()}
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfDiskCache {
+
+    private static final String JOURNAL_FILE = "journal";
+    private static final String JOURNAL_FILE_TEMP = "journal.tmp";
+    private static final String SUFFIX_TEMP = ".tmp";
+
+    private static final String PUT = "PUT";
+    private static final String READ = "READ";
+    private static final String DELETE = "DEL";
+
+    private static final int MAX_REDUNDANT_OP_COUNT = 2000;// journal中多余的记录超过此数量时重建
+    private static final int MAX_PENDING_WRITE_COUNT = 4;// 最多等待写入的页面数，超出时放弃写入
+    private static final int DEFAULT_QUALITY = 90;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File directory;
+    private final PdfBitmapPool bitmapPool;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);// 文件名 -> 缓存记录(访问顺序)
+    private final Set<String> pendingNames = new HashSet<>();// 等待写入的文件名
+    private final ExecutorService executor;
+
+    private long maxSize;
+    private long size;
+    private Bitmap.CompressFormat compressFormat;
+    private int quality;
+
+    private Writer journalWriter;
+    private int redundantOpCount;
+
+    private int hitCount;
+    private int missCount;
+    private int writeCount;
+    private int dropCount;
+
+    /**
+     * @param directory  缓存目录
+     * @param maxSize    最多缓存的字节数
+     * @param bitmapPool 读取时复用的Bitmap池
+     */
+    public PdfDiskCache(File directory, long maxSize, PdfBitmapPool bitmapPool) {
+        this.directory = directory;
+        this.maxSize = Math.max(0, maxSize);
+        this.bitmapPool = bitmapPool;
+        this.compressFormat = Bitmap.CompressFormat.WEBP;
+        this.quality = DEFAULT_QUALITY;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "PdfDiskCache");
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * 设置压缩格式
+     * 默认WEBP有损(保留透明度，压缩速度和文件大小都远好于PNG)；需要与渲染结果逐像素一致时使用PNG
+     *
+     * @param compressFormat 压缩格式，默认WEBP
+     * @param quality        压缩质量(0-100)，默认90，PNG忽略此参数
+     */
+    public synchronized void setCompressFormat(Bitmap.CompressFormat compressFormat, int quality) {
+        this.compressFormat = compressFormat;
+        this.quality = quality;
+    }
+
+    /**
+     * 设置最多缓存的字节数
+     *
+     * @param maxSize 字节数
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        try {
+            init();
+            trimToSize();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 获取页面
+     * 按journal中记录的页面尺寸从复用池取得Bitmap，只解码一次
+     *
+     * @param key    页面Key
+     * @param config Bitmap配置
+     * @return Bitmap(调用方独占)，没有缓存返回null
+     */
+    Bitmap get(String key, Bitmap.Config config) {
+        final String name = getFileName(key);
+        final Entry entry;
+        synchronized (this) {
+            try {
+                init();
+                entry = entries.get(name);
+                if (entry == null) {
+                    missCount++;
+                    return null;
+                }
+                appendJournal(READ, name, null);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+
+        final String path = new File(directory, name).getAbsolutePath();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inMutable = true;
+        options.inPreferredConfig = config;
+        options.inBitmap = bitmapPool.getReusable(entry.width, entry.height, config);
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeFile(path, options);
+        } catch (IllegalArgumentException e) {
+            // 文件中的尺寸与记录不一致
+            bitmapPool.put(options.inBitmap);
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeFile(path, options);
+        }
+
+        synchronized (this) {
+            if (bitmap == null) {
+                // 文件损坏或已被删除
+                bitmapPool.put(options.inBitmap);
+                remove(name);
+                missCount++;
+            } else {
+                hitCount++;
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * 缓存页面(后台写入)
+     * 已缓存或正在等待写入的页面直接忽略；取得写入位置后才复制，写入跟不上渲染时放弃写入并计入 {@link #getDropCount()}
+     *
+     * @param key    页面Key
+     * @param bitmap Bitmap
+     * @param copy   true: 复制后写入，调用方之后可随意处理bitmap; false: 直接写入，写入完成前bitmap不能回收
+     */
+    void put(String key, Bitmap bitmap, final boolean copy) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        final String name = getFileName(key);
+        synchronized (this) {
+            if (entries.containsKey(name) || pendingNames.contains(name)) {
+                return;
+            }
+            if (pendingNames.size() >= MAX_PENDING_WRITE_COUNT) {
+                // 避免等待写入的页面占用过多内存
+                dropCount++;
+                return;
+            }
+            pendingNames.add(name);
+        }
+
+        final Bitmap source;
+        if (copy) {
+            source = bitmapPool.get(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+            new Canvas(source).drawBitmap(bitmap, 0, 0, null);
+        } else {
+            source = bitmap;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    write(name, source);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    if (copy) {
+                        bitmapPool.put(source);
+                    }
+                    synchronized (PdfDiskCache.this) {
+                        pendingNames.remove(name);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 写入文件
+     *
+     * @param name   文件名
+     * @param bitmap Bitmap
+     * @throws IOException IOException
+     */
+    private void write(String name, Bitmap bitmap) throws IOException {
+        final Bitmap.CompressFormat compressFormat;
+        final int quality;
+        synchronized (this) {
+            init();
+            if (entries.containsKey(name)) {
+                return;
+            }
+            compressFormat = this.compressFormat;
+            quality = this.quality;
+        }
+        if (bitmap.isRecycled()) {
+            return;
+        }
+
+        // 先写入临时文件，完成后再重命名，避免读到不完整的文件
+        File tempFile = new File(directory, name + SUFFIX_TEMP);
+        try (BufferedOutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            if (!bitmap.compress(compressFormat, quality, outputStream)) {
+                throw new IOException("Bitmap 压缩失败！");
+            }
+        } catch (IOException e) {
+            boolean delete = tempFile.delete();
+            throw e;
+        }
+        File file = new File(directory, name);
+        if (!tempFile.renameTo(file)) {
+            boolean delete = tempFile.delete();
+            throw new IOException("重命名失败：" + file.getAbsolutePath());
+        }
+
+        synchronized (this) {
+            final Entry entry = new Entry(file.length(), bitmap.getWidth(), bitmap.getHeight());
+            entries.put(name, entry);
+            size += entry.length;
+            writeCount++;
+            appendJournal(PUT, name, entry);
+            trimToSize();
+        }
+    }
+
+    /**
+     * 清空
+     */
+    public synchronized void clear() {
+        try {
+            init();
+            List<String> names = new ArrayList<>(entries.keySet());
+            for (String name : names) {
+                remove(name);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 初始化：读取journal恢复缓存记录，删除没有记录的文件
+     *
+     * @throws IOException IOException
+     */
+    private void init() throws IOException {
+        if (journalWriter != null) {
+            return;
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("缓存目录创建失败：" + directory.getAbsolutePath());
+        }
+
+        File journalFile = new File(directory, JOURNAL_FILE);
+        if (journalFile.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile), UTF_8))) {
+                String line;
+                int lineCount = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineCount++;
+                    String[] parts = line.split(" ");
+                    if (parts.length < 2) {
+                        continue;
+                    }
+                    switch (parts[0]) {
+                        case PUT:
+                            if (parts.length == 5) {
+                                entries.put(parts[1], new Entry(Long.parseLong(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+                            } else {
+                                // 没有记录尺寸的旧记录，文件在校验时删除
+                                entries.remove(parts[1]);
+                            }
+                            break;
+                        case READ:
+                            entries.get(parts[1]);
+                            break;
+                        case DELETE:
+                            entries.remove(parts[1]);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                redundantOpCount = lineCount - entries.size();
+            } catch (IOException | NumberFormatException e) {
+                // journal损坏时清空缓存
+                e.printStackTrace();
+                entries.clear();
+            }
+        }
+
+        // 校验文件
+        size = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            File file = new File(directory, entry.getKey());
+            if (file.exists() && file.length() == entry.getValue().length) {
+                size += entry.getValue().length;
+            } else {
+                boolean delete = file.delete();
+                iterator.remove();
+            }
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (!entries.containsKey(name) && !JOURNAL_FILE.equals(name)) {
+                    boolean delete = file.delete();
+                }
+            }
+        }
+
+        rebuildJournal();
+        trimToSize();
+    }
+
+    /**
+     * 重建journal，只保留当前的缓存记录
+     *
+     * @throws IOException IOException
+     */
+    private void rebuildJournal() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+        }
+        File tempFile = new File(directory, JOURNAL_FILE_TEMP);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8))) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writer.write(PUT + " " + entry.getKey() + " " + entry.getValue() + "\n");
+            }
+        }
+        File journalFile = new File(directory, JOURNAL_FILE);
+        if (!tempFile.renameTo(journalFile)) {
+            throw new IOException("journal 重建失败！");
+        }
+        journalWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(journalFile, true), UTF_8));
+        redundantOpCount = 0;
+    }
+
+    /**
+     * 追加journal记录
+     *
+     * @param op    操作
+     * @param name  文件名
+     * @param entry 缓存记录(仅PUT)
+     * @throws IOException IOException
+     */
+    private void appendJournal(String op, String name, Entry entry) throws IOException {
+        if (PUT.equals(op)) {
+            journalWriter.write(op + " " + name + " " + entry + "\n");
+        } else {
+            journalWriter.write(op + " " + name + "\n");
+            redundantOpCount++;
+        }
+        journalWriter.flush();
+
+        if (redundantOpCount >= MAX_REDUNDANT_OP_COUNT && redundantOpCount >= entries.size()) {
+            rebuildJournal();
+        }
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param name 文件名
+     */
+    private void remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry == null) {
+            return;
+        }
+        size -= entry.length;
+        boolean delete = new File(directory, name).delete();
+        try {
+            appendJournal(DELETE, name, null);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 淘汰最久未访问的缓存，直到不超过最大字节数
+     */
+    private void trimToSize() {
+        while (size > maxSize && !entries.isEmpty()) {
+            String name = entries.keySet().iterator().next();
+            remove(name);
+        }
+    }
+
+    /**
+     * 获取文件名(Key的MD5)
+     *
+     * @param key Key
+     * @return 文件名
+     */
+    private static String getFileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            byte[] bytes = digest.digest(key.getBytes(UTF_8));
+            StringBuilder builder = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (Exception e) {
+            return String.valueOf(key.hashCode());
+        }
+    }
+
+    public synchronized long getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getCurrentSize() {
+        return size;
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int getWriteCount() {
+        return writeCount;
+    }
+
+    public synchronized int getDropCount() {
+        return dropCount;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "PdfDiskCache{" +
+                "maxSize=" + maxSize +
+                ", currentSize=" + size +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", writeCount=" + writeCount +
+                ", dropCount=" + dropCount +
+                '}';
+    }
+
+    /**
+     * 缓存记录
+     */
+    private static class Entry {
+
+        private final long length;// 文件大小
+        private final int width;// 页面宽
+        private final int height;// 页面高
+
+        private Entry(long length, int width, int height) {
+            this.length = length;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * journal中的格式
+         *
+         * @return 大小 宽 高
+         */
+        @NonNull
+        @Override
+        public String toString() {
+            return length + " " + width + " " + height;
+        }
+    }
+
+}
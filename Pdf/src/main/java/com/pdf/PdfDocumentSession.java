@@ -0,0 +1,307 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Pdf文档会话
+ * 打开后一直持有PdfRenderer直到关闭，打开时即读取页数和每页尺寸；
+ * PdfRenderer同一时间只能打开一个页面，所有页面访问在会话内串行执行；
+ * 每次获取页面后在后台预取前后相邻的页面放入内存缓存，翻页时直接命中已渲染的页面；
+ * 获取页面时可以指定不同的渲染配置(如按View宽度渲染)，预取使用最近一次获取时的渲染配置
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfDocumentSession implements Closeable {
+
+    private static final int DEFAULT_PREFETCH_DISTANCE = 1;// 默认预取前后各几页
+
+    private final Context context;
+    private final PdfHelper pdfHelper;
+    private final PdfRenderOptions options;
+    private final String documentKey;
+    private final PdfPageRenderer renderer;
+    private final PdfMetrics metrics = new PdfMetrics();
+
+    private final int pageCount;
+    private final int[] pageWidths;
+    private final int[] pageHeights;
+
+    private final Object lock = new Object();// 串行访问PdfRenderer
+    private final Object prefetchLock = new Object();
+    private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+    private int focusIndex = -1;// 最近一次获取的页码
+    private PdfRenderOptions focusOptions;// 最近一次获取的渲染配置
+    private boolean prefetching;// 预取任务是否在运行
+    private volatile boolean closed;
+
+    PdfDocumentSession(Context context, PdfHelper pdfHelper, File file, PdfRenderOptions options) throws IOException {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.pdfHelper = pdfHelper;
+        this.options = options;
+        this.documentKey = PdfPageCache.getDocumentKey(file);
+        this.renderer = new PdfPageRenderer(file, pdfHelper.getBitmapPool(), metrics);
+
+        try {
+            pageCount = renderer.getPageCount();
+            pageWidths = new int[pageCount];
+            pageHeights = new int[pageCount];
+            renderer.readPageSizes(pageWidths, pageHeights);
+        } catch (IOException | RuntimeException e) {
+            renderer.close();
+            throw e;
+        }
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * 获取页面宽度
+     *
+     * @param pageIndex 页码(从0开始)
+     * @return 宽度(Pdf点)
+     */
+    public int getPageWidth(int pageIndex) {
+        return pageWidths[pageIndex];
+    }
+
+    /**
+     * 获取页面高度
+     *
+     * @param pageIndex 页码(从0开始)
+     * @return 高度(Pdf点)
+     */
+    public int getPageHeight(int pageIndex) {
+        return pageHeights[pageIndex];
+    }
+
+    public PdfRenderOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * 获取会话的统计(包含预取)
+     *
+     * @return PdfMetrics
+     */
+    public PdfMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 设置预取范围
+     *
+     * @param prefetchDistance 前后各预取几页，0为不预取，默认1
+     * @return PdfDocumentSession
+     */
+    public PdfDocumentSession setPrefetchDistance(int prefetchDistance) {
+        synchronized (prefetchLock) {
+            this.prefetchDistance = Math.max(0, prefetchDistance);
+        }
+        return this;
+    }
+
+    /**
+     * 获取页面
+     * 依次使用内存缓存、磁盘缓存，都没有时才渲染，返回的Bitmap与缓存共享，不能回收；
+     * 获取后在后台预取相邻页面
+     *
+     * @param pageIndex 页码(从0开始)
+     * @return Bitmap
+     * @throws IOException IOException
+     */
+    public Bitmap getPage(int pageIndex) throws IOException {
+        return getPage(pageIndex, options);
+    }
+
+    /**
+     * 获取页面
+     * 使用指定的渲染配置，获取后在后台按此配置预取相邻页面
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return Bitmap(与缓存共享，不能回收)
+     * @throws IOException IOException
+     */
+    public Bitmap getPage(int pageIndex, PdfRenderOptions options) throws IOException {
+        checkPageIndex(pageIndex);
+        final Bitmap bitmap = load(pageIndex, options);
+        prefetch(pageIndex, options);
+        return bitmap;
+    }
+
+    /**
+     * 获取页面(异步)
+     * 在 {@link PdfHelper#getScheduler()} 中以 {@link PdfScheduler#PRIORITY_INTERACTIVE} 执行
+     *
+     * @param pageIndex 页码(从0开始)
+     * @return PdfFuture，成功时得到页面(与缓存共享，不能回收)
+     */
+    public PdfFuture<Bitmap> getPageAsync(int pageIndex) {
+        return getPageAsync(pageIndex, options);
+    }
+
+    /**
+     * 获取页面(异步)
+     * 使用指定的渲染配置，在 {@link PdfHelper#getScheduler()} 中以 {@link PdfScheduler#PRIORITY_INTERACTIVE} 执行
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return PdfFuture，成功时得到页面(与缓存共享，不能回收)
+     */
+    public PdfFuture<Bitmap> getPageAsync(final int pageIndex, final PdfRenderOptions options) {
+        return submit(new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() throws Exception {
+                return getPage(pageIndex, options);
+            }
+        }, options);
+    }
+
+    /**
+     * 获取页面(异步，不预取)
+     * 用于低分辨率占位图等不需要预取相邻页面的场景
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return PdfFuture，成功时得到页面(与缓存共享，不能回收)
+     */
+    PdfFuture<Bitmap> loadAsync(final int pageIndex, final PdfRenderOptions options) {
+        return submit(new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() throws Exception {
+                checkPageIndex(pageIndex);
+                return load(pageIndex, options);
+            }
+        }, options);
+    }
+
+    /**
+     * 获取内存缓存中的页面(不渲染)
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return Bitmap(与缓存共享，不能回收)，没有缓存返回null
+     */
+    Bitmap getCachedPage(int pageIndex, PdfRenderOptions options) {
+        return pdfHelper.getPageCache().get(PdfPageCache.getPageKey(documentKey, pageIndex, options));
+    }
+
+    private PdfFuture<Bitmap> submit(Callable<Bitmap> callable, PdfRenderOptions options) {
+        final PdfFuture<Bitmap> future = new PdfFuture<>(callable, new PdfTask());
+        pdfHelper.getScheduler().execute(future, PdfScheduler.PRIORITY_INTERACTIVE, PdfHelper.estimateReadBytes(options));
+        return future;
+    }
+
+    private void checkPageIndex(int pageIndex) {
+        if (pageIndex < 0 || pageIndex >= pageCount) {
+            throw new IndexOutOfBoundsException("pageIndex 越界：" + pageIndex + "/" + pageCount);
+        }
+    }
+
+    /**
+     * 串行获取页面
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return Bitmap
+     * @throws IOException IOException
+     */
+    private Bitmap load(int pageIndex, PdfRenderOptions options) throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("PdfDocumentSession 已关闭！");
+            }
+            return pdfHelper.loadPage(context, renderer, documentKey, pageIndex, options, true);
+        }
+    }
+
+    /**
+     * 更新预取中心，没有预取任务时启动
+     *
+     * @param pageIndex 最近一次获取的页码
+     * @param options   最近一次获取的渲染配置
+     */
+    private void prefetch(int pageIndex, PdfRenderOptions options) {
+        synchronized (prefetchLock) {
+            focusIndex = pageIndex;
+            focusOptions = options;
+            if (prefetching || prefetchDistance == 0 || closed) {
+                return;
+            }
+            prefetching = true;
+        }
+        pdfHelper.getScheduler().execute(new Runnable() {
+            @Override
+            public void run() {
+                runPrefetch();
+            }
+        }, PdfScheduler.PRIORITY_BACKGROUND, PdfHelper.estimateReadBytes(options));
+    }
+
+    /**
+     * 预取：由近到远(后一页优先)加载预取中心前后的页面，预取中心改变时从新的中心重新开始
+     */
+    private void runPrefetch() {
+        int center = -1;
+        PdfRenderOptions centerOptions = null;
+        int step = 0;
+        while (true) {
+            final int index;
+            final PdfRenderOptions options;
+            synchronized (prefetchLock) {
+                if (closed) {
+                    prefetching = false;
+                    return;
+                }
+                if (center != focusIndex || centerOptions != focusOptions) {
+                    center = focusIndex;
+                    centerOptions = focusOptions;
+                    step = 0;
+                }
+                // 下一个候选：+1, -1, +2, -2 ...
+                int next = -1;
+                while (next < 0 && step < prefetchDistance * 2) {
+                    final int offset = step / 2 + 1;
+                    final int candidate = step % 2 == 0 ? center + offset : center - offset;
+                    step++;
+                    if (candidate >= 0 && candidate < pageCount) {
+                        next = candidate;
+                    }
+                }
+                if (next < 0) {
+                    prefetching = false;
+                    return;
+                }
+                index = next;
+                options = centerOptions;
+            }
+            try {
+                load(index, options);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 关闭
+     * 等待正在渲染的页面完成后关闭PdfRenderer，已缓存的页面仍然有效
+     *
+     * @throws IOException IOException
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (lock) {
+            renderer.close();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.pdf;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Pdf异步结果
+ * 在库的调度器中执行，get() 阻塞等待结果，也可以通过 {@link #addListener} 在完成后得到通知；
+ * 取消时同时取消对应的 {@link PdfTask}，任务在页面之间检查取消后尽快结束(不会中断执行线程)
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfFuture<V> extends FutureTask<V> {
+
+    /**
+     * 完成后执行的监听
+     */
+    private static class Listener {
+        private final Runnable runnable;
+        private final Executor executor;
+
+        private Listener(Runnable runnable, Executor executor) {
+            this.runnable = runnable;
+            this.executor = executor;
+        }
+
+        private void execute() {
+            try {
+                if (executor == null) {
+                    runnable.run();
+                } else {
+                    executor.execute(runnable);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private final PdfTask task;
+    private final List<Listener> listenerList = new ArrayList<>();
+    private boolean notified;// 已通知过监听
+
+    PdfFuture(Callable<V> callable, PdfTask task) {
+        super(callable);
+        this.task = task;
+    }
+
+    /**
+     * 获取对应的任务
+     *
+     * @return PdfTask
+     */
+    public PdfTask getTask() {
+        return task;
+    }
+
+    /**
+     * 取消
+     * 总是按不中断线程处理，正在执行时由 {@link PdfTask} 在页面之间结束
+     *
+     * @param mayInterruptIfRunning 忽略
+     * @return 是否取消成功
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        task.cancel();
+        return super.cancel(false);
+    }
+
+    /**
+     * 添加完成(成功、失败或取消)后的监听
+     * 已完成时立即执行
+     *
+     * @param listener listener
+     * @param executor 执行监听的Executor，为null时在完成的线程中直接执行
+     * @return PdfFuture
+     */
+    public PdfFuture<V> addListener(@NonNull Runnable listener, Executor executor) {
+        final Listener item = new Listener(listener, executor);
+        synchronized (listenerList) {
+            if (!notified) {
+                listenerList.add(item);
+                return this;
+            }
+        }
+        item.execute();
+        return this;
+    }
+
+    @Override
+    protected void done() {
+        final List<Listener> list;
+        synchronized (listenerList) {
+            notified = true;
+            list = new ArrayList<>(listenerList);
+            listenerList.clear();
+        }
+        for (Listener listener : list) {
+            listener.execute();
+        }
+    }
+
+}
@@ -1,29 +1,31 @@
 package com.pdf;
 
-import android.app.Activity;
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.graphics.pdf.PdfDocument;
 import android.graphics.pdf.PdfRenderer;
 import android.net.Uri;
-import android.os.ParcelFileDescriptor;
-import android.util.DisplayMetrics;
-
-import androidx.exifinterface.media.ExifInterface;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Pdf帮助类
+ * 线程安全：单例不保存任何单次操作的状态，每次生成/读取使用各自的Paint、Matrix、解码器和渲染器，
+ * 多个生成/读取可以在不同线程中同时进行；共享的Bitmap复用池、内存缓存、磁盘缓存和调度器各自是线程安全的
  * Created by lishilin on 2020/06/09
  */
 public class PdfHelper {
@@ -36,121 +38,645 @@ public class PdfHelper {
         return InstanceHolder.instance;
     }
 
+    private static final int DEFAULT_TILE_SIZE = 256;// 默认分块大小
+    private static final String DISK_CACHE_DIR = "pdf_page_cache";// 磁盘缓存目录
+    private static final long DISK_CACHE_SIZE = 100 * 1024 * 1024;// 磁盘缓存大小
+
     private PdfHelper() {
-        paint = new Paint();
-        paint.setAntiAlias(true);
-        paint.setStyle(Paint.Style.FILL);
-        paint.setFilterBitmap(true);// 防止图片模糊
+        bitmapPool = new PdfBitmapPool(Runtime.getRuntime().maxMemory() / 8);
+        pageCache = new PdfPageCache((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8));
+    }
+
+    private final PdfBitmapPool bitmapPool;
+    private final PdfPageCache pageCache;
+    private PdfDiskCache diskCache;
+    private PdfScheduler scheduler;
+
+    /**
+     * 获取Bitmap复用池
+     *
+     * @return PdfBitmapPool
+     */
+    public PdfBitmapPool getBitmapPool() {
+        return bitmapPool;
+    }
+
+    /**
+     * 获取页面缓存
+     *
+     * @return PdfPageCache
+     */
+    public PdfPageCache getPageCache() {
+        return pageCache;
+    }
+
+    /**
+     * 获取磁盘缓存(位于应用缓存目录下)
+     *
+     * @param context context
+     * @return PdfDiskCache
+     */
+    public synchronized PdfDiskCache getDiskCache(Context context) {
+        if (diskCache == null) {
+            File directory = new File(context.getCacheDir(), DISK_CACHE_DIR);
+            diskCache = new PdfDiskCache(directory, DISK_CACHE_SIZE, bitmapPool);
+        }
+        return diskCache;
+    }
+
+    /**
+     * 获取默认的任务调度器
+     * 线程数为CPU核数，内存预算为最大堆内存的1/2
+     *
+     * @return PdfScheduler
+     */
+    public synchronized PdfScheduler getScheduler() {
+        if (scheduler == null) {
+            scheduler = new PdfScheduler();
+        }
+        return scheduler;
+    }
 
-        matrix = new Matrix();
+    /**
+     * 归还Bitmap，供后续渲染、解码复用
+     * 用于逐页读取时调用方用完的页面，归还后不能再使用该Bitmap
+     *
+     * @param bitmap Bitmap
+     */
+    public void releaseBitmap(Bitmap bitmap) {
+        bitmapPool.put(bitmap);
     }
 
-    private Paint paint;
-    private Matrix matrix;
+    /**
+     * 生成计划
+     * 只读取图片的文件头(尺寸、类型、Exif方向)，不解码，用于生成前预估内存和输出大小
+     *
+     * @param context context
+     * @param uriList uriList
+     * @param options 生成配置
+     * @return PdfPlan
+     * @throws InterruptedException InterruptedException
+     * @throws ExecutionException   ExecutionException
+     */
+    public PdfPlan planPdf(Context context, List<Uri> uriList, PdfWriteOptions options) throws InterruptedException, ExecutionException {
+        PdfPageSize pageSize = options.getPageSize();
+        if (pageSize == null) {
+            pageSize = PdfPageSize.screen(context);
+        }
+        return new PdfPlanner(context).plan(uriList, pageSize, options, new PdfTask());
+    }
 
     /**
      * 图片生成Pdf
      *
-     * @param activity   activity
+     * @param context    context
      * @param uriList    uriList
      * @param outputFile outputFile
      * @param callback   callback
      */
-    public void photoToPdf(Activity activity, List<Uri> uriList, File outputFile, PdfWriteCallback callback) {
-        if (outputFile == null) {
-            callback.onFail(new FileNotFoundException("outputFile 非法！"));
-            return;
+    public void photoToPdf(Context context, List<Uri> uriList, File outputFile, PdfWriteCallback callback) {
+        photoToPdf(context, uriList, outputFile, new PdfWriteOptions(), callback);
+    }
+
+    /**
+     * 图片生成Pdf
+     *
+     * @param context    context
+     * @param uriList    uriList
+     * @param outputFile outputFile
+     * @param options    生成配置
+     * @param callback   callback
+     */
+    public void photoToPdf(Context context, List<Uri> uriList, File outputFile, PdfWriteOptions options, PdfWriteCallback callback) {
+        photoToPdf(context, uriList, outputFile, options, new PdfTask(), callback);
+    }
+
+    /**
+     * 图片生成Pdf(在指定线程池中执行)
+     *
+     * @param context    context
+     * @param uriList    uriList
+     * @param outputFile outputFile
+     * @param options    生成配置
+     * @param executor   执行任务的线程池
+     * @param callback   callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask photoToPdf(final Context context, final List<Uri> uriList, final File outputFile, final PdfWriteOptions options, Executor executor, final PdfWriteCallback callback) {
+        final PdfTask task = new PdfTask();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                photoToPdf(context, uriList, outputFile, options, task, callback);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * 图片生成Pdf
+     * 每页之间、各阶段之间检查任务是否已取消，取消后释放资源、删除未写完的文件并回调 {@link PdfWriteCallback#onCancel}
+     *
+     * @param context    context
+     * @param uriList    uriList
+     * @param outputFile outputFile
+     * @param options    生成配置
+     * @param task       任务(用于取消)
+     * @param callback   callback
+     */
+    public void photoToPdf(Context context, List<Uri> uriList, File outputFile, PdfWriteOptions options, PdfTask task, PdfWriteCallback callback) {
+        // outputFile为null时与其它失败一样经过回调转发和统计
+        photoToPdf(context, uriList, outputFile == null ? null : PdfOutput.fromFile(outputFile), options, task, callback);
+    }
+
+    /**
+     * 图片生成Pdf
+     *
+     * @param context  context
+     * @param uriList  uriList
+     * @param output   输出目标(文件、OutputStream、ParcelFileDescriptor或content Uri)
+     * @param options  生成配置
+     * @param callback callback
+     */
+    public void photoToPdf(Context context, List<Uri> uriList, PdfOutput output, PdfWriteOptions options, PdfWriteCallback callback) {
+        photoToPdf(context, uriList, output, options, new PdfTask(), callback);
+    }
+
+    /**
+     * 图片生成Pdf(在指定线程池中执行)
+     *
+     * @param context  context
+     * @param uriList  uriList
+     * @param output   输出目标(文件、OutputStream、ParcelFileDescriptor或content Uri)
+     * @param options  生成配置
+     * @param executor 执行任务的线程池
+     * @param callback callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask photoToPdf(final Context context, final List<Uri> uriList, final PdfOutput output, final PdfWriteOptions options, Executor executor, final PdfWriteCallback callback) {
+        final PdfTask task = new PdfTask();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                photoToPdf(context, uriList, output, options, task, callback);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * 图片生成Pdf(在调度器中排队执行)
+     * 按页面尺寸和并行解码数预估内存，由调度器按内存预算准入
+     *
+     * @param context   context
+     * @param uriList   uriList
+     * @param output    输出目标(文件、OutputStream、ParcelFileDescriptor或content Uri)
+     * @param options   生成配置
+     * @param scheduler 调度器
+     * @param priority  优先级，如 {@link PdfScheduler#PRIORITY_BACKGROUND}
+     * @param callback  callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask photoToPdf(final Context context, final List<Uri> uriList, final PdfOutput output, final PdfWriteOptions options, PdfScheduler scheduler, int priority, final PdfWriteCallback callback) {
+        final PdfTask task = new PdfTask();
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                photoToPdf(context, uriList, output, options, task, callback);
+            }
+        }, priority, estimateWriteBytes(context, options));
+        return task;
+    }
+
+    /**
+     * 图片生成Pdf
+     * 每页之间、各阶段之间检查任务是否已取消，取消后释放资源、删除未写完的文件并回调 {@link PdfWriteCallback#onCancel}
+     *
+     * @param context  context
+     * @param uriList  uriList
+     * @param output   输出目标(文件、OutputStream、ParcelFileDescriptor或content Uri)
+     * @param options  生成配置
+     * @param task     任务(用于取消)
+     * @param callback callback
+     */
+    public void photoToPdf(Context context, List<Uri> uriList, PdfOutput output, PdfWriteOptions options, PdfTask task, PdfWriteCallback callback) {
+        // 按配置转发到回调Executor并合并进度
+        runWrite(context, uriList, output, options, task, PdfCallbackDispatcher.wrap(callback, options));
+    }
+
+    /**
+     * 图片生成Pdf(回调不经过转发，在当前线程直接回调)
+     *
+     * @param context  context
+     * @param uriList  uriList
+     * @param output   输出目标
+     * @param options  生成配置
+     * @param task     任务
+     * @param callback callback
+     */
+    private void runWrite(Context context, List<Uri> uriList, PdfOutput output, PdfWriteOptions options, PdfTask task, PdfWriteCallback callback) {
+        final PdfMetrics metrics = new PdfMetrics();
+        try {
+            if (task.isCancelled()) {
+                callback.onCancel();
+                return;
+            }
+            writePdf(context, uriList, output, options, task, metrics, callback);
+        } finally {
+            try {
+                callback.onMetrics(metrics);
+            } finally {
+                task.setDone();
+            }
         }
-        File parentFile = outputFile.getParentFile();
-        if (parentFile == null) {
-            callback.onFail(new FileNotFoundException("outputFile 非法！"));
+    }
+
+    /**
+     * 图片生成Pdf(异步)
+     * 在 {@link #getScheduler()} 中以 {@link PdfScheduler#PRIORITY_NORMAL} 执行
+     *
+     * @param context    context
+     * @param uriList    uriList
+     * @param outputFile 输出文件
+     * @param options    生成配置
+     * @return PdfFuture，成功时得到输出文件；失败时get()抛出ExecutionException，取消时抛出CancellationException
+     */
+    public PdfFuture<File> photoToPdfAsync(Context context, List<Uri> uriList, File outputFile, PdfWriteOptions options) {
+        return submitWrite(context, uriList, outputFile == null ? null : PdfOutput.fromFile(outputFile), options, outputFile);
+    }
+
+    /**
+     * 图片生成Pdf(异步)
+     * 在 {@link #getScheduler()} 中以 {@link PdfScheduler#PRIORITY_NORMAL} 执行
+     *
+     * @param context context
+     * @param uriList uriList
+     * @param output  输出目标(文件、OutputStream、ParcelFileDescriptor或content Uri)
+     * @param options 生成配置
+     * @return PdfFuture，成功时得到输出目标；失败时get()抛出ExecutionException，取消时抛出CancellationException
+     */
+    public PdfFuture<PdfOutput> photoToPdfAsync(Context context, List<Uri> uriList, PdfOutput output, PdfWriteOptions options) {
+        return submitWrite(context, uriList, output, options, output);
+    }
+
+    /**
+     * 提交异步生成
+     *
+     * @param context context
+     * @param uriList uriList
+     * @param output  输出目标
+     * @param options 生成配置
+     * @param value   成功时的结果
+     * @return PdfFuture
+     */
+    private <V> PdfFuture<V> submitWrite(final Context context, final List<Uri> uriList, final PdfOutput output, final PdfWriteOptions options, final V value) {
+        final PdfTask task = new PdfTask();
+        final PdfFuture<V> future = new PdfFuture<>(new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                WriteResult result = new WriteResult();
+                runWrite(context, uriList, output, options, task, result);
+                result.throwIfFailed();
+                return value;
+            }
+        }, task);
+        getScheduler().execute(future, PdfScheduler.PRIORITY_NORMAL, estimateWriteBytes(context, options));
+        return future;
+    }
+
+    /**
+     * 图片生成Pdf
+     *
+     * @param context  context
+     * @param uriList  uriList
+     * @param output   输出目标
+     * @param options  生成配置
+     * @param task     任务
+     * @param metrics  任务统计
+     * @param callback callback
+     */
+    private void writePdf(Context context, List<Uri> uriList, PdfOutput output, PdfWriteOptions options, PdfTask task, PdfMetrics metrics, PdfWriteCallback callback) {
+        if (output == null) {
+            callback.onFail(new FileNotFoundException("output 非法！"));
             return;
         }
-        boolean mkdirs = parentFile.mkdirs();
 
         if (uriList == null || uriList.isEmpty()) {
             callback.onFail(new IllegalArgumentException("uriList 不能为空！"));
             return;
         }
 
+        // 打开输出
+        final PdfOutputStream outputStream;
+        try {
+            outputStream = new PdfOutputStream(new BufferedOutputStream(output.open(), options.getBufferSize()), task);
+        } catch (Exception e) {
+            e.printStackTrace();
+            callback.onFail(e);
+            return;
+        }
+
         callback.onStart();
 
-        final int size = uriList.size();
+        // 页面尺寸，未设置时使用屏幕尺寸
+        PdfPageSize pageSize = options.getPageSize();
+        if (pageSize == null) {
+            pageSize = PdfPageSize.screen(context);
+        }
+
+        final PdfImageDecoder decoder = new PdfImageDecoder(context, bitmapPool, metrics);
+
+        try {
+            try {
+                // 只读取文件头生成计划
+                final long start = metrics.begin(PdfMetrics.STAGE_PLAN);
+                final PdfPlan plan;
+                try {
+                    plan = new PdfPlanner(context).plan(uriList, pageSize, options, task);
+                } finally {
+                    metrics.end(PdfMetrics.STAGE_PLAN, start);
+                }
+                callback.onPlan(plan);
 
-        // 获取屏幕宽高
-        DisplayMetrics displayMetrics = new DisplayMetrics();
-        activity.getWindowManager().getDefaultDisplay().getRealMetrics(displayMetrics);
-        int width = displayMetrics.widthPixels;
-        int height = displayMetrics.heightPixels;
+                if (options.getEngine() == PdfWriteOptions.ENGINE_DIRECT) {
+                    // 直接写入
+                    new PdfDirectWriter(context, decoder, metrics).write(plan, pageSize, outputStream, task, callback);
+                } else {
+                    writePdfCanvas(decoder, plan, pageSize, outputStream, options, task, metrics, callback);
+                }
+            } finally {
+                outputStream.close();
+            }
+        } catch (Exception e) {
+            // 删除未写完的输出
+            output.delete();
+            if (task.isCancelled()) {
+                callback.onCancel();
+            } else {
+                e.printStackTrace();
+                callback.onFail(e);
+            }
+            return;
+        }
+
+        callback.onSuccess(output, outputStream.getCount());
+    }
+
+    /**
+     * 图片绘制到PdfDocument后写入
+     *
+     * @param decoder      decoder
+     * @param plan         生成计划
+     * @param pageSize     页面尺寸
+     * @param outputStream 输出流
+     * @param options      生成配置
+     * @param task         任务
+     * @param metrics      任务统计
+     * @param callback     callback
+     * @throws IOException 写入失败
+     */
+    private void writePdfCanvas(PdfImageDecoder decoder, PdfPlan plan, PdfPageSize pageSize, OutputStream outputStream, PdfWriteOptions options, PdfTask task, PdfMetrics metrics, PdfWriteCallback callback) throws IOException {
+        final int size = plan.getPageCount();
+
+        // 绘制状态只属于本次生成
+        final Paint paint = createPaint();
+        final Matrix matrix = new Matrix();
 
         // 创建Pdf
         PdfDocument pdfDocument = new PdfDocument();
-        PdfDocument.PageInfo pageInfo = new PdfDocument.PageInfo.Builder(width, height, size).create();
+        try {
+            // 创建页
+            try (PdfDecodePipeline pipeline = new PdfDecodePipeline(decoder, task, metrics, plan, pageSize.getDecodeWidth(), pageSize.getDecodeHeight(), plan.getParallelism(), options.getMemoryLimit())) {
+                for (int i = 0; i < size; i++) {
+                    callback.onProgress(i + 1, size);
 
-        // 创建页
-        for (int i = 0; i < size; i++) {
-            callback.onProgress(i + 1, size);
+                    PdfDecodePipeline.Result result = pipeline.take();
+                    callback.onInputStats(i + 1, result.stats);
+                    metrics.addInputBytes(result.stats.getTotalBytes());
+                    Bitmap bitmap = result.bitmap;
+                    if (bitmap == null) {
+                        continue;
+                    }
+                    if (task.isCancelled()) {
+                        decoder.release(bitmap);
+                        task.throwIfCancelled();
+                    }
 
-            Uri uri = uriList.get(i);
-            Bitmap bitmap = getBitmap(activity, uri);
-            if (bitmap == null) {
-                continue;
-            }
+                    long start = metrics.begin(PdfMetrics.STAGE_DRAW);
 
-            PdfDocument.Page page = pdfDocument.startPage(pageInfo);
-            Canvas canvas = page.getCanvas();
+                    // 方向校准后的尺寸
+                    final boolean transposed = PdfImageDecoder.isTransposed(result.orientation);
+                    final int orientedWidth = transposed ? bitmap.getHeight() : bitmap.getWidth();
+                    final int orientedHeight = transposed ? bitmap.getWidth() : bitmap.getHeight();
 
-            int bitmapWidth = bitmap.getWidth();
-            int bitmapHeight = bitmap.getHeight();
+                    float[] pageValues = pageSize.getPageSize(orientedWidth, orientedHeight);
+                    int width = Math.round(pageValues[0]);
+                    int height = Math.round(pageValues[1]);
 
-            // 图片大小变换
-            matrix.reset();
-            // 缩放
-            if (bitmapWidth > width || bitmapHeight > height) {
-                float ratioWidth = width * 1.0f / bitmapWidth;
-                float ratioHeight = height * 1.0f / bitmapHeight;
-                float ratio = Math.min(ratioWidth, ratioHeight);
-                matrix.setScale(ratio, ratio);
+                    PdfDocument.PageInfo pageInfo = new PdfDocument.PageInfo.Builder(width, height, i + 1).create();
+                    PdfDocument.Page page = pdfDocument.startPage(pageInfo);
+                    Canvas canvas = page.getCanvas();
 
-                bitmapWidth *= ratio;
-                bitmapHeight *= ratio;
-            }
-            // 位移
-            int left = (width - bitmapWidth) / 2;
-            int top = (height - bitmapHeight) / 2;
-            matrix.postTranslate(left, top);
+                    // 按dpi换算为point
+                    float bitmapWidth = pageSize.toPoint(orientedWidth);
+                    float bitmapHeight = pageSize.toPoint(orientedHeight);
+                    float ratio = pageSize.toPoint(1);
 
-            canvas.drawBitmap(bitmap, matrix, paint);
+                    // 图片大小变换
+                    // 方向(旋转/翻转合并到同一个矩阵中，不复制Bitmap)
+                    PdfImageDecoder.setOrientation(matrix, result.orientation, bitmap.getWidth(), bitmap.getHeight());
+                    // 缩放
+                    if (bitmapWidth > width || bitmapHeight > height) {
+                        float ratioWidth = width / bitmapWidth;
+                        float ratioHeight = height / bitmapHeight;
+                        float fitRatio = Math.min(ratioWidth, ratioHeight);
+                        ratio *= fitRatio;
 
-            recycle(bitmap);
+                        bitmapWidth *= fitRatio;
+                        bitmapHeight *= fitRatio;
+                    }
+                    matrix.postScale(ratio, ratio);
+                    // 位移
+                    float left = (width - bitmapWidth) / 2;
+                    float top = (height - bitmapHeight) / 2;
+                    matrix.postTranslate(left, top);
 
-            pdfDocument.finishPage(page);
-        }
+                    canvas.drawBitmap(bitmap, matrix, paint);
 
-        // 写入文件
-        callback.onSaveFile();
+                    metrics.end(PdfMetrics.STAGE_DRAW, start);
 
-        try (FileOutputStream fileOutputStream = new FileOutputStream(outputFile)) {
-            pdfDocument.writeTo(fileOutputStream);
-            fileOutputStream.flush();
-            callback.onSuccess(outputFile);
-        } catch (Exception e) {
-            e.printStackTrace();
-            callback.onFail(e);
+                    decoder.release(bitmap);
+
+                    start = metrics.begin(PdfMetrics.STAGE_FINISH_PAGE);
+                    pdfDocument.finishPage(page);
+                    metrics.end(PdfMetrics.STAGE_FINISH_PAGE, start);
+                }
+            }
+            task.throwIfCancelled();
+
+            // 写入文件
+            callback.onSaveFile();
+
+            // 按预计输出大小回调保存进度
+            final PdfSaveProgressStream progressStream = new PdfSaveProgressStream(outputStream, plan.getOutputBytes(), callback);
+            final long start = metrics.begin(PdfMetrics.STAGE_WRITE);
+            try {
+                pdfDocument.writeTo(progressStream);
+                progressStream.flush();
+            } finally {
+                metrics.end(PdfMetrics.STAGE_WRITE, start);
+            }
+            progressStream.complete();
         } finally {
             pdfDocument.close();
         }
-
     }
 
     /**
      * 读取Pdf
+     * 依次使用内存缓存、磁盘缓存，都没有时才渲染，返回的Bitmap可能与缓存共享，不能回收
      *
      * @param context  context
      * @param file     file
      * @param callback callback
      */
     public void readPdf(Context context, File file, PdfReadCallback callback) {
+        readPdf(context, file, new PdfRenderOptions(), callback);
+    }
+
+    /**
+     * 读取Pdf
+     * 依次使用内存缓存、磁盘缓存，都没有时才渲染，返回的Bitmap可能与缓存共享，不能回收
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param callback callback
+     */
+    public void readPdf(Context context, File file, PdfRenderOptions options, PdfReadCallback callback) {
+        readPdf(context, file, options, new PdfTask(), callback);
+    }
+
+    /**
+     * 读取Pdf(在指定线程池中执行)
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param executor 执行任务的线程池
+     * @param callback callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask readPdf(final Context context, final File file, final PdfRenderOptions options, Executor executor, final PdfReadCallback callback) {
+        final PdfTask task = new PdfTask();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                readPdf(context, file, options, task, callback);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * 读取Pdf(在调度器中排队执行)
+     * 按一页的渲染尺寸预估内存，由调度器按内存预算准入
+     *
+     * @param context   context
+     * @param file      file
+     * @param options   渲染配置
+     * @param scheduler 调度器
+     * @param priority  优先级，如 {@link PdfScheduler#PRIORITY_INTERACTIVE}
+     * @param callback  callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask readPdf(final Context context, final File file, final PdfRenderOptions options, PdfScheduler scheduler, int priority, final PdfReadCallback callback) {
+        final PdfTask task = new PdfTask();
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                readPdf(context, file, options, task, callback);
+            }
+        }, priority, estimateReadBytes(options));
+        return task;
+    }
+
+    /**
+     * 读取Pdf
+     * 每页之间检查任务是否已取消，取消后关闭PdfRenderer并回调 {@link PdfReadCallback#onCancel}
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务(用于取消)
+     * @param callback callback
+     */
+    public void readPdf(Context context, File file, PdfRenderOptions options, PdfTask task, PdfReadCallback callback) {
+        // 按配置转发到回调Executor并合并进度
+        runRead(context, file, options, task, PdfCallbackDispatcher.wrap(callback, options));
+    }
+
+    /**
+     * 读取Pdf(回调不经过转发，在当前线程直接回调)
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务
+     * @param callback callback
+     */
+    private void runRead(Context context, File file, PdfRenderOptions options, PdfTask task, PdfReadCallback callback) {
+        final PdfMetrics metrics = new PdfMetrics();
+        try {
+            if (task.isCancelled()) {
+                callback.onCancel();
+                return;
+            }
+            readPdfList(context, file, options, task, metrics, callback);
+        } finally {
+            try {
+                callback.onMetrics(metrics);
+            } finally {
+                task.setDone();
+            }
+        }
+    }
+
+    /**
+     * 读取Pdf(异步)
+     * 在 {@link #getScheduler()} 中以 {@link PdfScheduler#PRIORITY_INTERACTIVE} 执行
+     *
+     * @param context context
+     * @param file    file
+     * @param options 渲染配置
+     * @return PdfFuture，成功时得到所有页面(与缓存共享，不能回收)；失败时get()抛出ExecutionException，取消时抛出CancellationException
+     */
+    public PdfFuture<List<Bitmap>> readPdfAsync(final Context context, final File file, final PdfRenderOptions options) {
+        final PdfTask task = new PdfTask();
+        final PdfFuture<List<Bitmap>> future = new PdfFuture<>(new Callable<List<Bitmap>>() {
+            @Override
+            public List<Bitmap> call() throws Exception {
+                ReadResult result = new ReadResult();
+                runRead(context, file, options, task, result);
+                result.throwIfFailed();
+                return result.bitmapList;
+            }
+        }, task);
+        getScheduler().execute(future, PdfScheduler.PRIORITY_INTERACTIVE, estimateReadBytes(options));
+        return future;
+    }
+
+    /**
+     * 读取Pdf
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务
+     * @param metrics  任务统计
+     * @param callback callback
+     */
+    private void readPdfList(Context context, File file, PdfRenderOptions options, PdfTask task, PdfMetrics metrics, PdfReadCallback callback) {
         if (file == null || !file.exists()) {
             callback.onFail(new FileNotFoundException("file 不存在！"));
             return;
@@ -158,28 +684,28 @@ public class PdfHelper {
 
         callback.onStart();
 
-        try (ParcelFileDescriptor fileDescriptor = ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY);
-             PdfRenderer pdfRenderer = new PdfRenderer(fileDescriptor)) {
+        final String documentKey = PdfPageCache.getDocumentKey(file);
 
-            final int size = pdfRenderer.getPageCount();
+        try (PdfPageRenderer renderer = new PdfPageRenderer(file, bitmapPool, metrics)) {
+
+            final int size = getPageCount(renderer, documentKey);
 
             final List<Bitmap> bitmapList = new ArrayList<>(size);
 
             for (int i = 0; i < size; i++) {
-                callback.onProgress(i + 1, size);
+                task.throwIfCancelled();
 
-                final PdfRenderer.Page page = pdfRenderer.openPage(i);
-
-                final Bitmap bitmap = Bitmap.createBitmap(page.getWidth(), page.getHeight(), Bitmap.Config.ARGB_8888);
+                callback.onProgress(i + 1, size);
 
-                page.render(bitmap, null, null, PdfRenderer.Page.RENDER_MODE_FOR_DISPLAY);
+                final Bitmap bitmap = loadPage(context, renderer, documentKey, i, options, true);
 
                 bitmapList.add(bitmap);
-
-                page.close();
             }
+            task.throwIfCancelled();
 
             callback.onSuccess(bitmapList);
+        } catch (CancellationException e) {
+            callback.onCancel();
         } catch (Exception e) {
             e.printStackTrace();
             callback.onFail(e);
@@ -187,82 +713,462 @@ public class PdfHelper {
     }
 
     /**
-     * 获取Bitmap
+     * 读取Pdf(逐页)
+     * 每渲染完一页立即通过 {@link PdfPageCallback#onPage} 交给调用方，不会持有全部页面
+     * 命中内存缓存时交给调用方的是缓存的副本，新渲染的页面只写入磁盘缓存
+     *
+     * @param context  context
+     * @param file     file
+     * @param callback callback
+     */
+    public void readPdf(Context context, File file, PdfPageCallback callback) {
+        readPdf(context, file, new PdfRenderOptions(), callback);
+    }
+
+    /**
+     * 读取Pdf(逐页)
+     * 每渲染完一页立即通过 {@link PdfPageCallback#onPage} 交给调用方，不会持有全部页面
+     * 命中内存缓存时交给调用方的是缓存的副本，新渲染的页面只写入磁盘缓存
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param callback callback
+     */
+    public void readPdf(Context context, File file, PdfRenderOptions options, PdfPageCallback callback) {
+        readPdf(context, file, options, new PdfTask(), callback);
+    }
+
+    /**
+     * 读取Pdf(逐页，在指定线程池中执行)
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param executor 执行任务的线程池
+     * @param callback callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask readPdf(final Context context, final File file, final PdfRenderOptions options, Executor executor, final PdfPageCallback callback) {
+        final PdfTask task = new PdfTask();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                readPdf(context, file, options, task, callback);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * 读取Pdf(逐页，在调度器中排队执行)
+     * 按一页的渲染尺寸预估内存，由调度器按内存预算准入
+     *
+     * @param context   context
+     * @param file      file
+     * @param options   渲染配置
+     * @param scheduler 调度器
+     * @param priority  优先级，如 {@link PdfScheduler#PRIORITY_INTERACTIVE}
+     * @param callback  callback
+     * @return PdfTask，可用于取消
+     */
+    public PdfTask readPdf(final Context context, final File file, final PdfRenderOptions options, PdfScheduler scheduler, int priority, final PdfPageCallback callback) {
+        final PdfTask task = new PdfTask();
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                readPdf(context, file, options, task, callback);
+            }
+        }, priority, estimateReadBytes(options));
+        return task;
+    }
+
+    /**
+     * 读取Pdf(逐页)
+     * 每页之间检查任务是否已取消，取消后关闭PdfRenderer并回调 {@link PdfPageCallback#onCancel}
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务(用于取消)
+     * @param callback callback
+     */
+    public void readPdf(Context context, File file, PdfRenderOptions options, PdfTask task, PdfPageCallback callback) {
+        // 按配置转发到回调Executor并合并进度
+        runReadPages(context, file, options, task, PdfCallbackDispatcher.wrap(callback, options));
+    }
+
+    /**
+     * 读取Pdf(逐页，回调不经过转发，在当前线程直接回调)
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务
+     * @param callback callback
+     */
+    private void runReadPages(Context context, File file, PdfRenderOptions options, PdfTask task, PdfPageCallback callback) {
+        final PdfMetrics metrics = new PdfMetrics();
+        try {
+            if (task.isCancelled()) {
+                callback.onCancel();
+                return;
+            }
+            readPdfPages(context, file, options, task, metrics, callback);
+        } finally {
+            try {
+                callback.onMetrics(metrics);
+            } finally {
+                task.setDone();
+            }
+        }
+    }
+
+    /**
+     * 读取Pdf(逐页发布，带背压)
+     * 在 {@link #getScheduler()} 中以 {@link PdfScheduler#PRIORITY_INTERACTIVE} 按订阅者请求的数量渲染并发出页面，
+     * 请求用完时最多提前渲染一页并释放调度器线程，再次请求时继续
      *
      * @param context context
-     * @param uri     uri
-     * @return Bitmap
+     * @param file    file
+     * @param options 渲染配置
+     * @return PdfPagePublisher
      */
-    private Bitmap getBitmap(Context context, Uri uri) {
-        // 获取Bitmap
-        Bitmap bitmap = null;
-        try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
-            bitmap = BitmapFactory.decodeStream(inputStream);
+    public PdfPagePublisher readPdfPages(Context context, File file, PdfRenderOptions options) {
+        return new PdfPagePublisher(context, file, options, getScheduler(), PdfScheduler.PRIORITY_INTERACTIVE);
+    }
+
+    /**
+     * 读取Pdf(逐页)
+     *
+     * @param context  context
+     * @param file     file
+     * @param options  渲染配置
+     * @param task     任务
+     * @param metrics  任务统计
+     * @param callback callback
+     */
+    private void readPdfPages(Context context, File file, PdfRenderOptions options, PdfTask task, PdfMetrics metrics, PdfPageCallback callback) {
+        if (file == null || !file.exists()) {
+            callback.onFail(new FileNotFoundException("file 不存在！"));
+            return;
+        }
+
+        callback.onStart();
+
+        final String documentKey = PdfPageCache.getDocumentKey(file);
+
+        try (PdfPageRenderer renderer = new PdfPageRenderer(file, bitmapPool, metrics)) {
+
+            final int size = getPageCount(renderer, documentKey);
+
+            for (int i = 0; i < size; i++) {
+                task.throwIfCancelled();
+
+                final Bitmap bitmap = loadPage(context, renderer, documentKey, i, options, false);
+
+                // 交给调用方后不再由任务持有
+                metrics.release(bitmap.getAllocationByteCount());
+                callback.onPage(i, size, bitmap);
+            }
+            task.throwIfCancelled();
+
+            callback.onComplete(size);
+        } catch (CancellationException e) {
+            callback.onCancel();
         } catch (Exception e) {
             e.printStackTrace();
+            callback.onFail(e);
         }
+    }
 
-        if (bitmap == null) {
-            return null;
+    /**
+     * 打开文档会话
+     * 会话持有PdfRenderer直到关闭，可按需获取页面并在后台预取相邻页面
+     *
+     * @param context context
+     * @param file    file
+     * @param options 渲染配置
+     * @return PdfDocumentSession，使用完后需关闭
+     * @throws IOException IOException
+     */
+    public PdfDocumentSession openDocument(Context context, File file, PdfRenderOptions options) throws IOException {
+        if (file == null || !file.exists()) {
+            throw new FileNotFoundException("file 不存在！");
         }
+        return new PdfDocumentSession(context, this, file, options);
+    }
 
-        // 获取ExifInterface
-        ExifInterface exif = null;
-        try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
-            if (inputStream != null) {
-                exif = new ExifInterface(inputStream);
+    /**
+     * 获取单页
+     * 依次使用内存缓存、磁盘缓存，都没有时才渲染，返回的Bitmap与缓存共享，不能回收
+     *
+     * @param context   context
+     * @param file      file
+     * @param pageIndex 页码(从0开始)
+     * @return Bitmap
+     * @throws IOException IOException
+     */
+    public Bitmap getPage(Context context, File file, int pageIndex) throws IOException {
+        return getPage(context, file, pageIndex, new PdfRenderOptions());
+    }
+
+    /**
+     * 获取单页
+     * 依次使用内存缓存、磁盘缓存，都没有时才渲染，返回的Bitmap与缓存共享，不能回收
+     *
+     * @param context   context
+     * @param file      file
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return Bitmap
+     * @throws IOException IOException
+     */
+    public Bitmap getPage(Context context, File file, int pageIndex, PdfRenderOptions options) throws IOException {
+        if (file == null || !file.exists()) {
+            throw new FileNotFoundException("file 不存在！");
+        }
+
+        final String documentKey = PdfPageCache.getDocumentKey(file);
+
+        try (PdfPageRenderer renderer = new PdfPageRenderer(file, bitmapPool, new PdfMetrics())) {
+            final int size = getPageCount(renderer, documentKey);
+            if (pageIndex < 0 || pageIndex >= size) {
+                throw new IndexOutOfBoundsException("pageIndex 越界：" + pageIndex + "/" + size);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+
+            return loadPage(context, renderer, documentKey, pageIndex, options, true);
         }
-        if (exif == null) {
-            return bitmap;
+    }
+
+    /**
+     * 获取视口内的分块
+     *
+     * @param context   context
+     * @param file      file
+     * @param pageIndex 页码(从0开始)
+     * @param zoom      缩放比例(1为1个Pdf点对应1像素)
+     * @param viewport  视口(缩放后页面中的区域)
+     * @return 分块
+     * @throws IOException IOException
+     */
+    public List<PdfTile> getTiles(Context context, File file, int pageIndex, float zoom, Rect viewport) throws IOException {
+        return getTiles(context, file, pageIndex, zoom, viewport, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * 获取视口内的分块
+     * 分块大小固定，优先使用页面缓存，返回的Bitmap与缓存共享，不能回收；
+     * 每次调用使用独立的PdfRenderer，不同线程可并行获取不同的分块
+     *
+     * @param context   context
+     * @param file      file
+     * @param pageIndex 页码(从0开始)
+     * @param zoom      缩放比例(1为1个Pdf点对应1像素)
+     * @param viewport  视口(缩放后页面中的区域)
+     * @param tileSize  分块大小
+     * @return 分块
+     * @throws IOException IOException
+     */
+    public List<PdfTile> getTiles(Context context, File file, int pageIndex, float zoom, Rect viewport, int tileSize) throws IOException {
+        return getTiles(context, file, pageIndex, zoom, viewport, tileSize, new PdfRenderOptions());
+    }
+
+    /**
+     * 获取视口内的分块
+     * 分块大小固定，优先使用页面缓存，返回的Bitmap与缓存共享，不能回收；
+     * 每次调用使用独立的PdfRenderer，不同线程可并行获取不同的分块
+     *
+     * @param context   context
+     * @param file      file
+     * @param pageIndex 页码(从0开始)
+     * @param zoom      缩放比例(1为1个Pdf点对应1像素)
+     * @param viewport  视口(缩放后页面中的区域)
+     * @param tileSize  分块大小
+     * @param options   渲染配置(Bitmap配置、背景色、渲染模式生效，尺寸由zoom决定)
+     * @return 分块
+     * @throws IOException IOException
+     */
+    public List<PdfTile> getTiles(Context context, File file, int pageIndex, float zoom, Rect viewport, int tileSize, PdfRenderOptions options) throws IOException {
+        if (file == null || !file.exists()) {
+            throw new FileNotFoundException("file 不存在！");
+        }
+        if (zoom <= 0 || tileSize <= 0) {
+            throw new IllegalArgumentException("zoom、tileSize 必须大于0！");
         }
 
-        return adjustOrientation(bitmap, exif);
+        final String documentKey = PdfPageCache.getDocumentKey(file);
+
+        try (PdfPageRenderer renderer = new PdfPageRenderer(file, bitmapPool, new PdfMetrics())) {
+            final int size = getPageCount(renderer, documentKey);
+            if (pageIndex < 0 || pageIndex >= size) {
+                throw new IndexOutOfBoundsException("pageIndex 越界：" + pageIndex + "/" + size);
+            }
+
+            try (PdfRenderer.Page page = renderer.openPage(pageIndex)) {
+                // 视口与页面的交集
+                final int pageWidth = (int) Math.ceil(page.getWidth() * zoom);
+                final int pageHeight = (int) Math.ceil(page.getHeight() * zoom);
+                Rect area = new Rect(viewport);
+                if (!area.intersect(0, 0, pageWidth, pageHeight)) {
+                    return new ArrayList<>();
+                }
+
+                final int left = area.left / tileSize;
+                final int top = area.top / tileSize;
+                final int right = (area.right - 1) / tileSize;
+                final int bottom = (area.bottom - 1) / tileSize;
+
+                final List<PdfTile> tileList = new ArrayList<>((right - left + 1) * (bottom - top + 1));
+                for (int row = top; row <= bottom; row++) {
+                    for (int column = left; column <= right; column++) {
+                        final String tileKey = PdfPageCache.getTileKey(documentKey, pageIndex, zoom, tileSize, column, row, options);
+                        Bitmap bitmap = pageCache.get(tileKey);
+                        if (bitmap == null) {
+                            bitmap = renderer.renderTile(page, zoom, tileSize, column, row, options);
+                            pageCache.put(tileKey, bitmap);
+                        }
+                        tileList.add(new PdfTile(pageIndex, zoom, tileSize, column, row, bitmap));
+                    }
+                }
+                return tileList;
+            }
+        }
     }
 
     /**
-     * 校准Bitmap方向
+     * 获取页面：内存缓存 -> 磁盘缓存 -> 渲染
      *
-     * @param bitmap bitmap
-     * @param exif   ExifInterface
+     * @param context     context
+     * @param renderer    renderer
+     * @param documentKey 文件Key
+     * @param pageIndex   页码(从0开始)
+     * @param options     渲染配置
+     * @param shared      true: 放入内存缓存，返回的Bitmap与缓存共享; false: 不放入内存缓存，返回调用方独占的Bitmap
      * @return Bitmap
+     * @throws IOException IOException
      */
-    private Bitmap adjustOrientation(Bitmap bitmap, ExifInterface exif) {
-        if (bitmap == null || exif == null) {
+    Bitmap loadPage(Context context, PdfPageRenderer renderer, String documentKey, int pageIndex, PdfRenderOptions options, boolean shared) throws IOException {
+        final String pageKey = PdfPageCache.getPageKey(documentKey, pageIndex, options);
+        final PdfMetrics metrics = renderer.getMetrics();
+
+        // 内存缓存
+        long start = metrics.begin(PdfMetrics.STAGE_CACHE);
+        Bitmap bitmap = pageCache.get(pageKey);
+        metrics.end(PdfMetrics.STAGE_CACHE, start);
+        if (bitmap != null) {
+            if (shared) {
+                return bitmap;
+            }
+            bitmap = copy(bitmap);
+            metrics.acquire(bitmap.getAllocationByteCount());
             return bitmap;
         }
 
-        // 计算旋转角度
-        int angle;
-        int ori = exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_UNDEFINED);
-        switch (ori) {
-            default:
-                angle = 0;
-                break;
-            case ExifInterface.ORIENTATION_TRANSPOSE:
-            case ExifInterface.ORIENTATION_ROTATE_90:
-                angle = 90;
-                break;
-            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
-            case ExifInterface.ORIENTATION_ROTATE_180:
-                angle = 180;
-                break;
-            case ExifInterface.ORIENTATION_TRANSVERSE:
-            case ExifInterface.ORIENTATION_ROTATE_270:
-                angle = 270;
-                break;
-        }
-        if (angle == 0) {
-            return bitmap;
+        // 磁盘缓存
+        final PdfDiskCache diskCache = getDiskCache(context);
+        start = metrics.begin(PdfMetrics.STAGE_CACHE);
+        bitmap = diskCache.get(pageKey, options.getConfig());
+        metrics.end(PdfMetrics.STAGE_CACHE, start);
+        if (bitmap != null) {
+            metrics.acquire(bitmap.getAllocationByteCount());
+        } else {
+            // 渲染
+            bitmap = renderer.render(pageIndex, options);
+            diskCache.put(pageKey, bitmap, !shared);
         }
 
-        // 旋转图片
-        Matrix matrix = new Matrix();
-        matrix.setRotate(angle);
-        Bitmap result = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
-        recycle(bitmap);
+        if (shared) {
+            pageCache.put(pageKey, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 获取页数(优先使用缓存)
+     *
+     * @param renderer    renderer
+     * @param documentKey 文件Key
+     * @return 页数
+     * @throws IOException IOException
+     */
+    private int getPageCount(PdfPageRenderer renderer, String documentKey) throws IOException {
+        int size = pageCache.getPageCount(documentKey);
+        if (size < 0) {
+            size = renderer.getPageCount();
+            pageCache.putPageCount(documentKey, size);
+        }
+        return size;
+    }
+
+    /**
+     * 创建绘制图片用的Paint
+     *
+     * @return Paint
+     */
+    private static Paint createPaint() {
+        Paint paint = new Paint();
+        paint.setAntiAlias(true);
+        paint.setStyle(Paint.Style.FILL);
+        paint.setFilterBitmap(true);// 防止图片模糊
+        return paint;
+    }
+
+    /**
+     * 预估生成Pdf占用的内存
+     * 每张图片按解码目标尺寸计算，Canvas方式最多同时预取 并行数*2 张，不超过预解码内存上限
+     *
+     * @param context context
+     * @param options 生成配置
+     * @return 字节数
+     */
+    private static long estimateWriteBytes(Context context, PdfWriteOptions options) {
+        PdfPageSize pageSize = options.getPageSize();
+        if (pageSize == null) {
+            pageSize = PdfPageSize.screen(context);
+        }
+        final long memoryLimit = options.getMemoryLimit();
+        final long bytes = (long) pageSize.getDecodeWidth() * pageSize.getDecodeHeight() * 4;
+        if (bytes <= 0) {
+            // 解码尺寸不限制
+            return memoryLimit;
+        }
+        final int count = options.getEngine() == PdfWriteOptions.ENGINE_CANVAS ? options.getParallelism() * 2 : 1;
+        return Math.min(memoryLimit, bytes * count);
+    }
+
+    /**
+     * 预估读取Pdf占用的内存
+     * 打开前不知道页面尺寸，按A4页面预估一页
+     *
+     * @param options 渲染配置
+     * @return 字节数
+     */
+    static long estimateReadBytes(PdfRenderOptions options) {
+        final int pageWidth = Math.round(PdfPageSize.A4_WIDTH);
+        final int pageHeight = Math.round(PdfPageSize.A4_HEIGHT);
+        final float scale = options.getScale(pageWidth, pageHeight);
+        final long pixels = (long) Math.ceil(pageWidth * scale) * (long) Math.ceil(pageHeight * scale);
+        long bytes = pixels * PdfBitmapPool.getBytesPerPixel(options.getConfig());
+        if (options.getConfig() != Bitmap.Config.ARGB_8888) {
+            // 先渲染到ARGB_8888再转换
+            bytes += pixels * 4;
+        }
+        return bytes;
+    }
+
+    /**
+     * 复制Bitmap(使用复用池)
+     *
+     * @param bitmap Bitmap
+     * @return Bitmap，bitmap为null时返回null
+     */
+    private Bitmap copy(Bitmap bitmap) {
+        if (bitmap == null) {
+            return null;
+        }
+        Bitmap result = bitmapPool.get(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+        new Canvas(result).drawBitmap(bitmap, 0, 0, null);
         return result;
     }
 
@@ -271,7 +1177,7 @@ public class PdfHelper {
      *
      * @param bitmap Bitmap
      */
-    private void recycle(Bitmap bitmap) {
+    static void recycle(Bitmap bitmap) {
         if (bitmap != null) {
             if (!bitmap.isRecycled()) {
                 bitmap.recycle();
@@ -280,4 +1186,64 @@ public class PdfHelper {
         }
     }
 
+    /**
+     * 生成结果(异步接口使用)
+     */
+    private static class WriteResult extends PdfWriteCallback {
+        private Exception exception;
+        private boolean cancelled;
+
+        @Override
+        public void onCancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            exception = e;
+        }
+
+        private void throwIfFailed() throws Exception {
+            if (cancelled) {
+                throw new CancellationException("任务已取消！");
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * 读取结果(异步接口使用)
+     */
+    private static class ReadResult extends PdfReadCallback {
+        private List<Bitmap> bitmapList;
+        private Exception exception;
+        private boolean cancelled;
+
+        @Override
+        public void onSuccess(List<Bitmap> bitmapList) {
+            this.bitmapList = bitmapList;
+        }
+
+        @Override
+        public void onCancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            exception = e;
+        }
+
+        private void throwIfFailed() throws Exception {
+            if (cancelled) {
+                throw new CancellationException("任务已取消！");
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
 }
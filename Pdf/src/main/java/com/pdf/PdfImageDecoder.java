@@ -0,0 +1,408 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.graphics.RectF;
+import android.net.Uri;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 图片解码
+ * 每张图片只打开一次数据源：Exif、尺寸、解码共用同一个可mark/reset的缓冲流；
+ * 解码结果保持原始方向，Exif方向由绘制时的变换矩阵处理，不再复制一张旋转后的Bitmap
+ * Created by lishilin on 2026/10/18
+ */
+class PdfImageDecoder {
+
+    private static final int BUFFER_SIZE = 64 * 1024;// 缓冲区大小
+    private static final int MARK_LIMIT = 1024 * 1024;// 可回退的最大字节数
+    private static final int EXIF_HEADER_SIZE = 128 * 1024;// Exif所在的文件头大小(JPEG的APP1段最大64K)
+
+    private final Context context;
+    private final PdfBitmapPool bitmapPool;
+    private final PdfMetrics metrics;
+
+    PdfImageDecoder(Context context, PdfBitmapPool bitmapPool, PdfMetrics metrics) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.bitmapPool = bitmapPool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 归还解码出的Bitmap，供后续解码复用
+     *
+     * @param bitmap Bitmap
+     */
+    void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        metrics.release(bitmap.getAllocationByteCount());
+        bitmapPool.put(bitmap);
+    }
+
+    /**
+     * 解码图片(计划中无法读取尺寸时完整读取后解码)
+     * 读取到的Exif方向写回 {@link PdfPagePlan#orientation}
+     *
+     * @param page      单页计划
+     * @param reqWidth  目标宽度
+     * @param reqHeight 目标高度
+     * @param stats     读取统计
+     * @return Bitmap(方向校准前)
+     */
+    Bitmap decode(PdfPagePlan page, int reqWidth, int reqHeight, PdfInputStats stats) {
+        final Uri uri = page.uri;
+        InputStream inputStream = null;
+        try {
+            CountingInputStream countingStream = open(uri, stats);
+            inputStream = new BufferedInputStream(countingStream, BUFFER_SIZE);
+            inputStream.mark(MARK_LIMIT);
+
+            // 获取方向(只读取文件头)
+            long count = countingStream.getCount();
+            long start = metrics.begin(PdfMetrics.STAGE_EXIF);
+            try {
+                page.orientation = getOrientation(readExif(inputStream));
+            } finally {
+                metrics.end(PdfMetrics.STAGE_EXIF, start);
+            }
+            stats.exifBytes += countingStream.getCount() - count;
+            // 旋转90°/270°后宽高互换，按旋转前的方向计算目标尺寸
+            if (isTransposed(page.orientation)) {
+                int temp = reqWidth;
+                reqWidth = reqHeight;
+                reqHeight = temp;
+            }
+
+            // 获取图片尺寸
+            count = countingStream.getCount();
+            inputStream.reset();
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            start = metrics.begin(PdfMetrics.STAGE_BOUNDS);
+            try {
+                BitmapFactory.decodeStream(inputStream, null, options);
+            } finally {
+                metrics.end(PdfMetrics.STAGE_BOUNDS, start);
+            }
+            stats.boundsBytes += countingStream.getCount() - count;
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return null;
+            }
+
+            // 计算采样
+            calculateScale(options, reqWidth, reqHeight);
+            options.inJustDecodeBounds = false;
+
+            // 复用Bitmap
+            options.inMutable = true;
+            options.inBitmap = bitmapPool.getReusable(getDecodedSize(options.outWidth, options), getDecodedSize(options.outHeight, options), options.inPreferredConfig);
+
+            // 回退到开头解码，超出可回退范围时重新打开
+            try {
+                inputStream.reset();
+            } catch (IOException e) {
+                inputStream.close();
+                countingStream = open(uri, stats);
+                inputStream = new BufferedInputStream(countingStream, BUFFER_SIZE);
+            }
+            count = countingStream.getCount();
+            start = metrics.begin(PdfMetrics.STAGE_DECODE);
+            Bitmap bitmap;
+            try {
+                bitmap = BitmapFactory.decodeStream(inputStream, null, options);
+            } catch (IllegalArgumentException e) {
+                if (options.inBitmap == null) {
+                    throw e;
+                }
+                // 无法复用时归还，重新打开后正常解码
+                bitmapPool.put(options.inBitmap);
+                options.inBitmap = null;
+                stats.decodeBytes += countingStream.getCount() - count;
+                inputStream.close();
+                countingStream = open(uri, stats);
+                inputStream = new BufferedInputStream(countingStream, BUFFER_SIZE);
+                count = countingStream.getCount();
+                bitmap = BitmapFactory.decodeStream(inputStream, null, options);
+            } finally {
+                metrics.end(PdfMetrics.STAGE_DECODE, start);
+            }
+            stats.decodeBytes += countingStream.getCount() - count;
+            onDecoded(bitmap, options.inBitmap);
+
+            return bitmap;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (inputStream != null) {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * 按计划解码图片
+     * 尺寸、方向和采样已在计划中得到，只打开一次数据源直接解码
+     *
+     * @param page  单页计划
+     * @param stats 读取统计
+     * @return Bitmap(方向校准前)
+     */
+    Bitmap decode(PdfPagePlan page, PdfInputStats stats) {
+        InputStream inputStream = null;
+        try {
+            CountingInputStream countingStream = open(page.uri, stats);
+            inputStream = new BufferedInputStream(countingStream, BUFFER_SIZE);
+
+            BitmapFactory.Options options = page.createOptions();
+            // 复用Bitmap
+            options.inMutable = true;
+            options.inBitmap = bitmapPool.getReusable(page.decodeWidth, page.decodeHeight, options.inPreferredConfig);
+
+            final long start = metrics.begin(PdfMetrics.STAGE_DECODE);
+            Bitmap bitmap;
+            try {
+                bitmap = BitmapFactory.decodeStream(inputStream, null, options);
+            } catch (IllegalArgumentException e) {
+                if (options.inBitmap == null) {
+                    throw e;
+                }
+                // 无法复用时归还，重新打开后正常解码
+                bitmapPool.put(options.inBitmap);
+                options.inBitmap = null;
+                stats.decodeBytes += countingStream.getCount();
+                inputStream.close();
+                countingStream = open(page.uri, stats);
+                inputStream = new BufferedInputStream(countingStream, BUFFER_SIZE);
+                bitmap = BitmapFactory.decodeStream(inputStream, null, options);
+            } finally {
+                metrics.end(PdfMetrics.STAGE_DECODE, start);
+            }
+            stats.decodeBytes += countingStream.getCount();
+            onDecoded(bitmap, options.inBitmap);
+
+            return bitmap;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (inputStream != null) {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * 解码完成，记录统计
+     *
+     * @param bitmap   解码出的Bitmap
+     * @param inBitmap 用于复用的Bitmap
+     */
+    private void onDecoded(Bitmap bitmap, Bitmap inBitmap) {
+        if (bitmap == null) {
+            if (inBitmap != null) {
+                bitmapPool.put(inBitmap);
+            }
+            return;
+        }
+        if (bitmap != inBitmap) {
+            metrics.addAllocation();
+        }
+        metrics.addDecodedBytes(bitmap.getByteCount());
+        metrics.acquire(bitmap.getAllocationByteCount());
+    }
+
+    /**
+     * 打开数据源
+     *
+     * @param uri   uri
+     * @param stats 读取统计
+     * @return CountingInputStream
+     * @throws FileNotFoundException FileNotFoundException
+     */
+    private CountingInputStream open(Uri uri, PdfInputStats stats) throws FileNotFoundException {
+        final long start = metrics.begin(PdfMetrics.STAGE_OPEN);
+        final InputStream inputStream;
+        try {
+            inputStream = context.getContentResolver().openInputStream(uri);
+        } finally {
+            metrics.end(PdfMetrics.STAGE_OPEN, start);
+        }
+        if (inputStream == null) {
+            throw new FileNotFoundException("uri 无法打开：" + uri);
+        }
+        stats.openCount++;
+        return new CountingInputStream(inputStream);
+    }
+
+    /**
+     * 从文件头读取ExifInterface
+     *
+     * @param inputStream 已mark的InputStream
+     * @return ExifInterface
+     */
+    private ExifInterface readExif(InputStream inputStream) {
+        try {
+            byte[] header = new byte[EXIF_HEADER_SIZE];
+            int length = 0;
+            int read;
+            while (length < header.length && (read = inputStream.read(header, length, header.length - length)) != -1) {
+                length += read;
+            }
+            // 文件头截断后ExifInterface会在读到结尾时停止解析，已解析的Tag仍然有效
+            return new ExifInterface(new ByteArrayInputStream(header, 0, length));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * 计算解码缩放
+     * 先用inSampleSize按2的幂次粗略缩小，再用inDensity/inTargetDensity精确缩放到目标尺寸(只缩小不放大)
+     *
+     * @param options   已读取尺寸的Options
+     * @param reqWidth  目标宽度
+     * @param reqHeight 目标高度
+     */
+    static void calculateScale(BitmapFactory.Options options, int reqWidth, int reqHeight) {
+        final int width = options.outWidth;
+        final int height = options.outHeight;
+
+        options.inSampleSize = 1;
+        options.inScaled = false;
+        if (reqWidth <= 0 || reqHeight <= 0 || (width <= reqWidth && height <= reqHeight)) {
+            return;
+        }
+
+        float ratioWidth = reqWidth * 1.0f / width;
+        float ratioHeight = reqHeight * 1.0f / height;
+        // 以缩放比例更小的一边为准
+        final int srcSize;
+        final int dstSize;
+        if (ratioWidth <= ratioHeight) {
+            srcSize = width;
+            dstSize = Math.max(1, Math.round(width * ratioWidth));
+        } else {
+            srcSize = height;
+            dstSize = Math.max(1, Math.round(height * ratioHeight));
+        }
+
+        // 采样(解码结果不小于目标尺寸)
+        int inSampleSize = 1;
+        while (srcSize / (inSampleSize * 2) >= dstSize) {
+            inSampleSize *= 2;
+        }
+        options.inSampleSize = inSampleSize;
+
+        // 精确缩放
+        if (srcSize / inSampleSize > dstSize) {
+            options.inScaled = true;
+            options.inDensity = srcSize;
+            options.inTargetDensity = dstSize * inSampleSize;
+        }
+    }
+
+    /**
+     * 计算解码后的尺寸(向上取整，用于预估占用的内存)
+     *
+     * @param size    原始宽或高
+     * @param options 已计算缩放的Options
+     * @return 解码后的宽或高
+     */
+    static int getDecodedSize(int size, BitmapFactory.Options options) {
+        int inSampleSize = Math.max(1, options.inSampleSize);
+        double result = Math.ceil(size * 1.0 / inSampleSize);
+        if (options.inScaled && options.inDensity > 0 && options.inTargetDensity > 0) {
+            result = Math.ceil(result * options.inTargetDensity / options.inDensity);
+        }
+        return (int) result;
+    }
+
+    /**
+     * 获取Exif方向
+     *
+     * @param exif ExifInterface
+     * @return Exif方向
+     */
+    static int getOrientation(ExifInterface exif) {
+        if (exif == null) {
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+        return exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+    }
+
+    /**
+     * 旋转后宽高是否互换
+     *
+     * @param orientation Exif方向
+     * @return boolean
+     */
+    static boolean isTransposed(int orientation) {
+        return orientation >= ExifInterface.ORIENTATION_TRANSPOSE && orientation <= ExifInterface.ORIENTATION_ROTATE_270;
+    }
+
+    /**
+     * 设置方向校准矩阵
+     * 将原始方向的图片按Exif方向旋转/翻转，结果的左上角位于原点，宽高互换时尺寸为 height x width
+     *
+     * @param matrix      matrix
+     * @param orientation Exif方向
+     * @param width       图片宽度(方向校准前)
+     * @param height      图片高度(方向校准前)
+     */
+    static void setOrientation(Matrix matrix, int orientation, float width, float height) {
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.setScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.setRotate(-90);
+                break;
+            default:
+                matrix.reset();
+                return;
+        }
+        // 平移回原点
+        RectF rect = new RectF(0, 0, width, height);
+        matrix.mapRect(rect);
+        matrix.postTranslate(-rect.left, -rect.top);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.pdf;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 图片读取统计
+ * 记录单张图片打开数据源的次数，以及各阶段从数据源实际读取的字节数(包括生成计划时读取文件头)
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfInputStats {
+
+    int openCount;// 打开次数
+    long exifBytes;// 读取Exif的字节数
+    long boundsBytes;// 读取尺寸的字节数
+    long decodeBytes;// 解码的字节数
+
+    /**
+     * 累加另一次读取的统计
+     *
+     * @param stats stats
+     */
+    void add(PdfInputStats stats) {
+        openCount += stats.openCount;
+        exifBytes += stats.exifBytes;
+        boundsBytes += stats.boundsBytes;
+        decodeBytes += stats.decodeBytes;
+    }
+
+    /**
+     * 获取打开数据源的次数
+     *
+     * @return 次数
+     */
+    public int getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * 获取读取Exif阶段的字节数
+     *
+     * @return 字节数
+     */
+    public long getExifBytes() {
+        return exifBytes;
+    }
+
+    /**
+     * 获取读取尺寸阶段的字节数
+     *
+     * @return 字节数
+     */
+    public long getBoundsBytes() {
+        return boundsBytes;
+    }
+
+    /**
+     * 获取解码阶段的字节数
+     *
+     * @return 字节数
+     */
+    public long getDecodeBytes() {
+        return decodeBytes;
+    }
+
+    /**
+     * 获取总字节数
+     *
+     * @return 字节数
+     */
+    public long getTotalBytes() {
+        return exifBytes + boundsBytes + decodeBytes;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PdfInputStats{" +
+                "openCount=" + openCount +
+                ", exifBytes=" + exifBytes +
+                ", boundsBytes=" + boundsBytes +
+                ", decodeBytes=" + decodeBytes +
+                '}';
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.pdf;
+
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 任务统计
+ * 记录一次生成或读取中各阶段的耗时、解码的字节数、新分配的Bitmap数和Bitmap占用的峰值内存；
+ * 各阶段同时包裹在 {@link Trace} 区段中，可在systrace/Perfetto中查看
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfMetrics {
+
+    // 生成
+    public static final int STAGE_PLAN = 0;// 生成计划
+    public static final int STAGE_OPEN = 1;// 打开图片Uri
+    public static final int STAGE_EXIF = 2;// 读取Exif
+    public static final int STAGE_BOUNDS = 3;// 读取尺寸
+    public static final int STAGE_DECODE = 4;// 解码
+    public static final int STAGE_DRAW = 5;// 绘制到Canvas
+    public static final int STAGE_FINISH_PAGE = 6;// PdfDocument.finishPage
+    public static final int STAGE_WRITE = 7;// 写入(PdfDocument.writeTo或直接写入图片)
+    // 读取
+    public static final int STAGE_OPEN_DOCUMENT = 8;// 打开PdfRenderer
+    public static final int STAGE_CACHE = 9;// 读取内存/磁盘缓存
+    public static final int STAGE_OPEN_PAGE = 10;// 打开页面
+    public static final int STAGE_RENDER = 11;// 渲染
+
+    private static final String[] STAGE_NAMES = {
+            "PdfPlan",
+            "PdfOpen",
+            "PdfExif",
+            "PdfBounds",
+            "PdfDecode",
+            "PdfDraw",
+            "PdfFinishPage",
+            "PdfWrite",
+            "PdfOpenDocument",
+            "PdfCache",
+            "PdfOpenPage",
+            "PdfRender",
+    };
+
+    private final long[] stageTimes = new long[STAGE_NAMES.length];// 纳秒
+    private final int[] stageCounts = new int[STAGE_NAMES.length];
+
+    private long inputBytes;// 从数据源读取的字节数
+    private long decodedBytes;// 解码/渲染出的Bitmap字节数
+    private int allocationCount;// 新分配的Bitmap数
+    private long bitmapBytes;// 当前持有的Bitmap字节数
+    private long peakBitmapBytes;// 同时持有的Bitmap最大字节数
+
+    /**
+     * 获取阶段名称
+     *
+     * @param stage 阶段
+     * @return 名称
+     */
+    public static String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    /**
+     * 开始阶段
+     * 必须在同一线程中调用 {@link #end}
+     *
+     * @param stage 阶段
+     * @return 开始时间
+     */
+    long begin(int stage) {
+        Trace.beginSection(STAGE_NAMES[stage]);
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束阶段
+     *
+     * @param stage 阶段
+     * @param start {@link #begin} 返回的开始时间
+     */
+    void end(int stage, long start) {
+        final long time = System.nanoTime() - start;
+        Trace.endSection();
+        synchronized (this) {
+            stageTimes[stage] += time;
+            stageCounts[stage]++;
+        }
+    }
+
+    synchronized void addInputBytes(long bytes) {
+        inputBytes += bytes;
+    }
+
+    synchronized void addDecodedBytes(long bytes) {
+        decodedBytes += bytes;
+    }
+
+    synchronized void addAllocation() {
+        allocationCount++;
+    }
+
+    /**
+     * 持有Bitmap
+     *
+     * @param bytes 字节数
+     */
+    synchronized void acquire(long bytes) {
+        bitmapBytes += bytes;
+        peakBitmapBytes = Math.max(peakBitmapBytes, bitmapBytes);
+    }
+
+    /**
+     * 释放Bitmap
+     *
+     * @param bytes 字节数
+     */
+    synchronized void release(long bytes) {
+        bitmapBytes -= bytes;
+    }
+
+    /**
+     * 获取阶段耗时
+     *
+     * @param stage 阶段，如 {@link #STAGE_DECODE}
+     * @return 毫秒(多线程时为各线程耗时之和)
+     */
+    public synchronized long getStageTime(int stage) {
+        return stageTimes[stage] / 1000000;
+    }
+
+    /**
+     * 获取阶段次数
+     *
+     * @param stage 阶段，如 {@link #STAGE_DECODE}
+     * @return 次数
+     */
+    public synchronized int getStageCount(int stage) {
+        return stageCounts[stage];
+    }
+
+    public synchronized long getInputBytes() {
+        return inputBytes;
+    }
+
+    public synchronized long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    public synchronized int getAllocationCount() {
+        return allocationCount;
+    }
+
+    public synchronized long getPeakBitmapBytes() {
+        return peakBitmapBytes;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("PdfMetrics{");
+        for (int i = 0; i < STAGE_NAMES.length; i++) {
+            if (stageCounts[i] == 0) {
+                continue;
+            }
+            builder.append(STAGE_NAMES[i]).append('=').append(stageTimes[i] / 1000000).append("ms/").append(stageCounts[i]).append(", ");
+        }
+        builder.append("inputBytes=").append(inputBytes)
+                .append(", decodedBytes=").append(decodedBytes)
+                .append(", allocationCount=").append(allocationCount)
+                .append(", peakBitmapBytes=").append(peakBitmapBytes)
+                .append('}');
+        return builder.toString();
+    }
+
+}
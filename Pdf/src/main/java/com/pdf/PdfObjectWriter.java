@@ -0,0 +1,165 @@
+package com.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pdf对象写入
+ * 按顺序写入Pdf对象并记录每个对象的偏移，最后写入交叉引用表和文件尾
+ * Created by lishilin on 2026/10/18
+ */
+class PdfObjectWriter {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private final OutputStream out;
+    private final List<Long> offsets = new ArrayList<>();// 对象编号-1 -> 偏移
+    private long position;
+
+    PdfObjectWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * 写入文件头
+     *
+     * @throws IOException IOException
+     */
+    void writeHeader() throws IOException {
+        write("%PDF-1.4\n");
+        // 二进制标记，告诉传输工具这是二进制文件
+        write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'}, 0, 6);
+    }
+
+    /**
+     * 分配对象编号
+     *
+     * @return 对象编号
+     */
+    int newObject() {
+        offsets.add(-1L);
+        return offsets.size();
+    }
+
+    /**
+     * 开始写入对象
+     *
+     * @param number 对象编号
+     * @throws IOException IOException
+     */
+    void beginObject(int number) throws IOException {
+        offsets.set(number - 1, position);
+        write(number + " 0 obj\n");
+    }
+
+    /**
+     * 结束写入对象
+     *
+     * @throws IOException IOException
+     */
+    void endObject() throws IOException {
+        write("\nendobj\n");
+    }
+
+    /**
+     * 写入对象
+     *
+     * @param number  对象编号
+     * @param content 对象内容
+     * @throws IOException IOException
+     */
+    void writeObject(int number, String content) throws IOException {
+        beginObject(number);
+        write(content);
+        endObject();
+    }
+
+    /**
+     * 写入流对象
+     *
+     * @param number     对象编号
+     * @param dictionary 除Length以外的字典内容，可为空
+     * @param data       流数据
+     * @throws IOException IOException
+     */
+    void writeStreamObject(int number, String dictionary, byte[] data) throws IOException {
+        beginObject(number);
+        write("<< " + dictionary + " /Length " + data.length + " >>\nstream\n");
+        write(data, 0, data.length);
+        write("\nendstream");
+        endObject();
+    }
+
+    /**
+     * 写入交叉引用表和文件尾
+     *
+     * @param root Catalog对象编号
+     * @throws IOException IOException
+     */
+    void writeTrailer(int root) throws IOException {
+        final long xref = position;
+        final int size = offsets.size() + 1;
+        StringBuilder builder = new StringBuilder(size * 20 + 128);
+        builder.append("xref\n0 ").append(size).append('\n');
+        builder.append("0000000000 65535 f \n");
+        for (long offset : offsets) {
+            if (offset < 0) {
+                // 分配了但没有写入的对象
+                builder.append("0000000000 65535 f \n");
+            } else {
+                builder.append(String.format(Locale.US, "%010d 00000 n \n", offset));
+            }
+        }
+        builder.append("trailer\n<< /Size ").append(size).append(" /Root ").append(root).append(" 0 R >>\n");
+        builder.append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(builder.toString());
+        out.flush();
+    }
+
+    /**
+     * 写入文本(ASCII)
+     *
+     * @param text 文本
+     * @throws IOException IOException
+     */
+    void write(String text) throws IOException {
+        byte[] bytes = text.getBytes(ASCII);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 写入数据
+     *
+     * @param b   数据
+     * @param off 偏移
+     * @param len 长度
+     * @throws IOException IOException
+     */
+    void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        position += len;
+    }
+
+    /**
+     * 输出已写入的数据
+     *
+     * @throws IOException IOException
+     */
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * 获取已写入的字节数
+     *
+     * @return 字节数
+     */
+    long getPosition() {
+        return position;
+    }
+
+}
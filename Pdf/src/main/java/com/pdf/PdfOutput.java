@@ -0,0 +1,191 @@
+package com.pdf;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Pdf输出目标
+ * 支持文件、OutputStream、ParcelFileDescriptor和content Uri(如SAF选择的位置)，直接写入目标位置，不需要先写临时文件再拷贝
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfOutput {
+
+    private File file;
+    private OutputStream outputStream;
+    private ParcelFileDescriptor fileDescriptor;
+    private Context context;
+    private Uri uri;
+
+    private PdfOutput() {
+    }
+
+    /**
+     * 输出到文件
+     * 失败或取消时删除未写完的文件
+     *
+     * @param file file
+     * @return PdfOutput
+     */
+    public static PdfOutput fromFile(File file) {
+        PdfOutput output = new PdfOutput();
+        output.file = file;
+        return output;
+    }
+
+    /**
+     * 输出到OutputStream
+     * 写入完成后只flush，不关闭，由调用方关闭；失败或取消时已写入的内容不做处理，由调用方丢弃
+     *
+     * @param outputStream outputStream
+     * @return PdfOutput
+     */
+    public static PdfOutput fromStream(OutputStream outputStream) {
+        PdfOutput output = new PdfOutput();
+        output.outputStream = outputStream;
+        return output;
+    }
+
+    /**
+     * 输出到ParcelFileDescriptor
+     * 从当前位置开始写入，写入完成后不关闭，由调用方关闭；
+     * 失败或取消时已写入的内容不做处理(无法确定调用方的起始位置)，由调用方截断或删除
+     *
+     * @param fileDescriptor fileDescriptor
+     * @return PdfOutput
+     */
+    public static PdfOutput fromFileDescriptor(ParcelFileDescriptor fileDescriptor) {
+        PdfOutput output = new PdfOutput();
+        output.fileDescriptor = fileDescriptor;
+        return output;
+    }
+
+    /**
+     * 输出到content Uri(如 ACTION_CREATE_DOCUMENT 返回的Uri)
+     * 以覆盖方式打开，已有内容会被清空；失败或取消时清空已写入的内容(不删除文档，文档由调用方创建)
+     *
+     * @param context context
+     * @param uri     uri
+     * @return PdfOutput
+     */
+    public static PdfOutput fromUri(Context context, Uri uri) {
+        PdfOutput output = new PdfOutput();
+        output.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        output.uri = uri;
+        return output;
+    }
+
+    /**
+     * 获取输出文件
+     *
+     * @return File，不是输出到文件时返回null
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 获取输出Uri
+     *
+     * @return Uri，不是输出到Uri时返回null
+     */
+    public Uri getUri() {
+        return uri;
+    }
+
+    /**
+     * 打开输出流
+     *
+     * @return OutputStream(未缓冲)
+     * @throws IOException IOException
+     */
+    OutputStream open() throws IOException {
+        if (file != null) {
+            File parentFile = file.getParentFile();
+            if (parentFile == null) {
+                throw new FileNotFoundException("outputFile 非法！");
+            }
+            boolean mkdirs = parentFile.mkdirs();
+            return new FileOutputStream(file);
+        }
+        if (outputStream != null) {
+            return new NonClosingOutputStream(outputStream);
+        }
+        if (fileDescriptor != null) {
+            return new NonClosingOutputStream(new FileOutputStream(fileDescriptor.getFileDescriptor()));
+        }
+        if (uri != null) {
+            OutputStream result = context.getContentResolver().openOutputStream(uri, "wt");
+            if (result == null) {
+                throw new FileNotFoundException("uri 无法打开：" + uri);
+            }
+            return result;
+        }
+        throw new FileNotFoundException("output 非法！");
+    }
+
+    /**
+     * 删除未写完的输出
+     * 文件直接删除，Uri清空内容；OutputStream和ParcelFileDescriptor由调用方处理
+     */
+    void delete() {
+        if (file != null) {
+            boolean delete = file.delete();
+        } else if (uri != null) {
+            // 重新以覆盖方式打开即可清空，避免留下不完整的Pdf
+            try (OutputStream result = context.getContentResolver().openOutputStream(uri, "wt")) {
+                if (result == null) {
+                    throw new FileNotFoundException("uri 无法打开：" + uri);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        if (file != null) {
+            return file.getAbsolutePath();
+        }
+        if (uri != null) {
+            return uri.toString();
+        }
+        if (fileDescriptor != null) {
+            return fileDescriptor.toString();
+        }
+        return String.valueOf(outputStream);
+    }
+
+    /**
+     * 关闭时只flush，不关闭调用方传入的输出
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+
+    }
+
+}
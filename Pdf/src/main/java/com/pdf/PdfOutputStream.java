@@ -0,0 +1,58 @@
+package com.pdf;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Pdf输出流
+ * 写入时检查任务是否已取消，取消后中断写入，同时统计写入的字节数
+ * Created by lishilin on 2026/10/18
+ */
+class PdfOutputStream extends FilterOutputStream {
+
+    private final PdfTask task;
+    private long count;// 已写入的字节数
+
+    PdfOutputStream(OutputStream out, PdfTask task) {
+        super(out);
+        this.task = task;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkCancelled();
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkCancelled();
+        out.write(b, off, len);
+        count += len;
+    }
+
+    /**
+     * 获取已写入的字节数
+     *
+     * @return 字节数
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * 检查是否已取消
+     * PdfDocument.writeTo只能传出IOException，所以这里不抛CancellationException
+     *
+     * @throws InterruptedIOException 已取消
+     */
+    private void checkCancelled() throws InterruptedIOException {
+        if (task.isCancelled()) {
+            throw new InterruptedIOException("任务已取消！");
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+
+/**
+ * Pdf页面
+ * {@link PdfPagePublisher} 逐页发出的页面，Bitmap由调用方持有，不再使用时通过 {@link PdfHelper#releaseBitmap} 归还
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPage {
+
+    private final int pageIndex;
+    private final int pageCount;
+    private final Bitmap bitmap;
+
+    PdfPage(int pageIndex, int pageCount, Bitmap bitmap) {
+        this.pageIndex = pageIndex;
+        this.pageCount = pageCount;
+        this.bitmap = bitmap;
+    }
+
+    /**
+     * 获取页码(从0开始)
+     *
+     * @return 页码
+     */
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Pdf页面缓存(内存)
+ * 以文件(路径+大小+修改时间)、页码、渲染配置(渲染尺寸、Bitmap配置等)为Key，按Bitmap占用的字节数淘汰
+ * 缓存中的Bitmap会被多次返回，使用方不能回收
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPageCache {
+
+    private static final int MAX_DOCUMENT_COUNT = 32;// 最多记录多少个文件的页数
+
+    private final LruCache<String, Bitmap> bitmapCache;
+    private final LruCache<String, Integer> pageCountCache;
+
+    /**
+     * @param maxSize 最多缓存的字节数
+     */
+    public PdfPageCache(int maxSize) {
+        bitmapCache = new LruCache<String, Bitmap>(Math.max(1, maxSize)) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+        pageCountCache = new LruCache<>(MAX_DOCUMENT_COUNT);
+    }
+
+    /**
+     * 获取文件Key
+     * 文件被修改后Key随之改变，旧的缓存不会再命中
+     *
+     * @param file file
+     * @return Key
+     */
+    static String getDocumentKey(File file) {
+        return file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+    }
+
+    /**
+     * 获取页面Key
+     *
+     * @param documentKey 文件Key
+     * @param pageIndex   页码(从0开始)
+     * @param options     渲染配置(渲染尺寸、Bitmap配置等)
+     * @return Key
+     */
+    static String getPageKey(String documentKey, int pageIndex, PdfRenderOptions options) {
+        return String.format(Locale.US, "%s|%d|%s", documentKey, pageIndex, options.getKey());
+    }
+
+    /**
+     * 获取分块Key
+     *
+     * @param documentKey 文件Key
+     * @param pageIndex   页码(从0开始)
+     * @param zoom        缩放比例
+     * @param tileSize    分块大小
+     * @param column      列
+     * @param row         行
+     * @param options     渲染配置
+     * @return Key
+     */
+    static String getTileKey(String documentKey, int pageIndex, float zoom, int tileSize, int column, int row, PdfRenderOptions options) {
+        return String.format(Locale.US, "%s|%d|tile|%.4f|%d|%d|%d|%s", documentKey, pageIndex, zoom, tileSize, column, row, options.getKey());
+    }
+
+    /**
+     * 获取页面
+     *
+     * @param key 页面Key
+     * @return Bitmap，没有缓存返回null
+     */
+    Bitmap get(String key) {
+        Bitmap bitmap = bitmapCache.get(key);
+        if (bitmap != null && bitmap.isRecycled()) {
+            // 被使用方回收了
+            bitmapCache.remove(key);
+            return null;
+        }
+        return bitmap;
+    }
+
+    /**
+     * 缓存页面
+     *
+     * @param key    页面Key
+     * @param bitmap Bitmap
+     */
+    void put(String key, Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        bitmapCache.put(key, bitmap);
+    }
+
+    /**
+     * 获取页数
+     *
+     * @param documentKey 文件Key
+     * @return 页数，没有缓存返回-1
+     */
+    int getPageCount(String documentKey) {
+        Integer pageCount = pageCountCache.get(documentKey);
+        return pageCount == null ? -1 : pageCount;
+    }
+
+    /**
+     * 缓存页数
+     *
+     * @param documentKey 文件Key
+     * @param pageCount   页数
+     */
+    void putPageCount(String documentKey, int pageCount) {
+        pageCountCache.put(documentKey, pageCount);
+    }
+
+    /**
+     * 设置最多缓存的字节数
+     *
+     * @param maxSize 字节数
+     */
+    public void setMaxSize(int maxSize) {
+        bitmapCache.resize(Math.max(1, maxSize));
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        bitmapCache.evictAll();
+        pageCountCache.evictAll();
+    }
+
+    public int getMaxSize() {
+        return bitmapCache.maxSize();
+    }
+
+    public int getCurrentSize() {
+        return bitmapCache.size();
+    }
+
+    public int getHitCount() {
+        return bitmapCache.hitCount();
+    }
+
+    public int getMissCount() {
+        return bitmapCache.missCount();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PdfPageCache{" +
+                "maxSize=" + getMaxSize() +
+                ", currentSize=" + getCurrentSize() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                '}';
+    }
+
+}
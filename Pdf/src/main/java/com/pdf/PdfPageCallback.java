@@ -0,0 +1,65 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+
+/**
+ * Pdf回调(逐页读)
+ * 每渲染完一页立即回调，Bitmap由调用方持有并负责回收(或通过 {@link PdfHelper#releaseBitmap} 归还复用)，峰值内存约为一页
+ * Created by lishilin on 2026/10/18
+ */
+public abstract class PdfPageCallback {
+
+    /**
+     * 开始
+     */
+    public void onStart() {
+
+    }
+
+    /**
+     * 页面渲染完成
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param total     总共多少页
+     * @param bitmap    页面Bitmap，由调用方持有，使用完后需自行回收或调用 {@link PdfHelper#releaseBitmap} 归还
+     */
+    public void onPage(int pageIndex, int total, Bitmap bitmap) {
+
+    }
+
+    /**
+     * 完成
+     *
+     * @param total 总共多少页
+     */
+    public void onComplete(int total) {
+
+    }
+
+    /**
+     * 任务统计
+     * 任务结束后(成功、取消、失败之后)回调
+     *
+     * @param metrics 各阶段耗时、解码字节数、新分配的Bitmap数和峰值内存
+     */
+    public void onMetrics(PdfMetrics metrics) {
+
+    }
+
+    /**
+     * 取消
+     */
+    public void onCancel() {
+
+    }
+
+    /**
+     * 失败
+     *
+     * @param e Exception
+     */
+    public void onFail(Exception e) {
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.pdf;
+
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 单页生成计划
+ * 只读取文件头得到的图片信息，以及据此计算出的解码采样和预估内存、输出大小
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPagePlan {
+
+    final Uri uri;
+    String mimeType;
+    int width;// 原始宽度
+    int height;// 原始高度
+    int orientation;// Exif方向(无法读取尺寸时由解码写回)
+    long fileLength = -1;// 文件大小，未知为-1
+    boolean passthrough;// 能否不解码直接写入(8位灰度/RGB的JPEG，且不超出页面的解码尺寸)
+    JpegInfo jpegInfo;// 文件头中解析出的JPEG信息，直接写入时不再读取文件头
+    final PdfInputStats stats = new PdfInputStats();// 生成计划时读取文件头的统计
+
+    int sampleSize = 1;// 解码采样
+    boolean scaled;// 是否精确缩放
+    int density;// 精确缩放的inDensity
+    int targetDensity;// 精确缩放的inTargetDensity
+    int decodeWidth;// 解码后宽度(方向校准前)
+    int decodeHeight;// 解码后高度(方向校准前)
+    long decodeBytes;// 解码占用的内存，不需要解码时为0
+    long outputBytes;// 写入Pdf的预估大小
+
+    PdfPagePlan(Uri uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * 创建解码用的Options
+     *
+     * @return BitmapFactory.Options
+     */
+    BitmapFactory.Options createOptions() {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        options.inScaled = scaled;
+        if (scaled) {
+            options.inDensity = density;
+            options.inTargetDensity = targetDensity;
+        }
+        return options;
+    }
+
+    public Uri getUri() {
+        return uri;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getOrientation() {
+        return orientation;
+    }
+
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * 是否可以读取(文件头中能解析出尺寸)
+     *
+     * @return boolean
+     */
+    public boolean isValid() {
+        return width > 0 && height > 0;
+    }
+
+    public boolean isPassthrough() {
+        return passthrough;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public int getDecodeWidth() {
+        return decodeWidth;
+    }
+
+    public int getDecodeHeight() {
+        return decodeHeight;
+    }
+
+    /**
+     * 获取解码占用的内存
+     *
+     * @return 字节数，不需要解码时为0
+     */
+    public long getDecodeBytes() {
+        return decodeBytes;
+    }
+
+    /**
+     * 获取写入Pdf的预估大小
+     *
+     * @return 字节数
+     */
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PdfPagePlan{" +
+                "uri=" + uri +
+                ", mimeType=" + mimeType +
+                ", width=" + width +
+                ", height=" + height +
+                ", orientation=" + orientation +
+                ", passthrough=" + passthrough +
+                ", sampleSize=" + sampleSize +
+                ", decodeWidth=" + decodeWidth +
+                ", decodeHeight=" + decodeHeight +
+                ", decodeBytes=" + decodeBytes +
+                ", outputBytes=" + outputBytes +
+                '}';
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+/**
+ * Pdf页面发布者
+ * 与 java.util.concurrent.Flow.Publisher 相同的约定(Flow需要API 30，这里单独定义)，带背压：
+ * 每次订阅打开一个PdfRenderer，有请求时才在调度器中渲染并发出页面，请求用完后最多提前渲染一页并结束调度任务，
+ * 没有请求时不占用调度器的线程和内存预算，再次请求时重新提交；
+ * 设置了 {@link PdfRenderOptions#setCallbackExecutor} 时订阅者回调在该Executor中执行(应为串行Executor)
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPagePublisher {
+
+    private final Context context;
+    private final File file;
+    private final PdfRenderOptions options;
+    private final PdfScheduler scheduler;
+    private final int priority;
+
+    PdfPagePublisher(Context context, File file, PdfRenderOptions options, PdfScheduler scheduler, int priority) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.file = file;
+        this.options = options;
+        this.scheduler = scheduler;
+        this.priority = priority;
+    }
+
+    /**
+     * 订阅
+     *
+     * @param subscriber subscriber
+     */
+    public void subscribe(PdfPageSubscriber subscriber) {
+        final PageSubscription subscription = new PageSubscription(subscriber);
+        subscription.signalSubscribe();
+        // 打开文档并提前渲染第一页
+        subscription.schedule();
+    }
+
+    /**
+     * 订阅
+     * 由调度任务逐页渲染：有请求时发出页面，请求用完时保留一页提前渲染好的页面并结束任务，取消时归还未发出的页面
+     */
+    private class PageSubscription implements PdfSubscription, Runnable {
+
+        private final PdfPageSubscriber subscriber;
+        private final Executor executor;// 为null时在渲染线程回调
+        private final PdfHelper pdfHelper = PdfHelper.getInstance();
+        private final PdfMetrics metrics = new PdfMetrics();
+
+        private final Object lock = new Object();
+        private long demand;// 已请求未发出的页数
+        private boolean terminated;// 已结束(完成、失败或取消)，不再回调
+        private boolean running;// 调度任务已提交或正在执行
+        private PdfPageRenderer renderer;// 第一次执行时打开
+        private String documentKey;
+        private int pageCount = -1;
+        private int nextIndex;// 下一个发出的页码
+        private Bitmap pending;// 提前渲染好的第nextIndex页
+
+        private PageSubscription(PdfPageSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.executor = options.getCallbackExecutor();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                signalError(new IllegalArgumentException("request 必须大于0！"));
+                return;
+            }
+            synchronized (lock) {
+                demand += n;
+                if (demand < 0) {
+                    // 溢出视为无限
+                    demand = Long.MAX_VALUE;
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (terminate()) {
+                releaseIfIdle();
+            }
+        }
+
+        /**
+         * 没有调度任务时提交一个
+         */
+        private void schedule() {
+            synchronized (lock) {
+                if (running || terminated) {
+                    return;
+                }
+                running = true;
+            }
+            scheduler.execute(this, priority, PdfHelper.estimateReadBytes(options));
+        }
+
+        /**
+         * 调度任务：发出页面直到请求用完，再提前渲染一页后结束
+         */
+        @Override
+        public void run() {
+            final boolean cancelled;
+            synchronized (lock) {
+                cancelled = terminated;
+                if (cancelled) {
+                    running = false;
+                }
+            }
+            if (cancelled) {
+                // 排队期间已取消，不再打开文档
+                releaseIfIdle();
+                return;
+            }
+            try {
+                open();
+                while (true) {
+                    Bitmap bitmap = null;
+                    int pageIndex = -1;
+                    boolean render = false;
+                    synchronized (lock) {
+                        if (terminated) {
+                            running = false;
+                            break;
+                        }
+                        if (pending != null) {
+                            if (demand == 0) {
+                                // 请求用完，保留提前渲染的页面，释放调度器线程
+                                running = false;
+                                return;
+                            }
+                            if (demand != Long.MAX_VALUE) {
+                                demand--;
+                            }
+                            bitmap = pending;
+                            pending = null;
+                            pageIndex = nextIndex++;
+                        } else if (nextIndex < pageCount) {
+                            render = true;
+                            pageIndex = nextIndex;
+                        }
+                    }
+
+                    if (render) {
+                        final Bitmap page = pdfHelper.loadPage(context, renderer, documentKey, pageIndex, options, false);
+                        // 交给调用方后不再由订阅持有
+                        metrics.release(page.getAllocationByteCount());
+                        synchronized (lock) {
+                            pending = page;
+                        }
+                    } else if (bitmap != null) {
+                        signalNext(new PdfPage(pageIndex, pageCount, bitmap));
+                    } else {
+                        // 全部页面已发出
+                        if (terminate()) {
+                            signal(new Runnable() {
+                                @Override
+                                public void run() {
+                                    subscriber.onComplete();
+                                }
+                            });
+                        }
+                        synchronized (lock) {
+                            running = false;
+                        }
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+                signalError(e);
+                synchronized (lock) {
+                    running = false;
+                }
+            }
+            releaseIfIdle();
+        }
+
+        /**
+         * 打开文档(只在调度任务中调用，不会并发)
+         *
+         * @throws IOException IOException
+         */
+        private void open() throws IOException {
+            if (renderer != null) {
+                return;
+            }
+            if (file == null || !file.exists()) {
+                throw new FileNotFoundException("file 不存在！");
+            }
+            documentKey = PdfPageCache.getDocumentKey(file);
+            final PdfPageRenderer renderer = new PdfPageRenderer(file, pdfHelper.getBitmapPool(), metrics);
+            final int pageCount;
+            try {
+                pageCount = renderer.getPageCount();
+            } catch (IOException | RuntimeException e) {
+                renderer.close();
+                throw e;
+            }
+            synchronized (lock) {
+                this.renderer = renderer;
+                this.pageCount = pageCount;
+            }
+        }
+
+        /**
+         * 已结束且没有调度任务时，归还未发出的页面并关闭PdfRenderer
+         */
+        private void releaseIfIdle() {
+            final Bitmap bitmap;
+            final PdfPageRenderer renderer;
+            synchronized (lock) {
+                if (!terminated || running) {
+                    return;
+                }
+                bitmap = pending;
+                renderer = this.renderer;
+                pending = null;
+                this.renderer = null;
+            }
+            if (bitmap != null) {
+                pdfHelper.releaseBitmap(bitmap);
+            }
+            if (renderer != null) {
+                try {
+                    renderer.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void signalSubscribe() {
+            signal(new Runnable() {
+                @Override
+                public void run() {
+                    subscriber.onSubscribe(PageSubscription.this);
+                }
+            });
+        }
+
+        private void signalNext(final PdfPage page) {
+            signal(new Runnable() {
+                @Override
+                public void run() {
+                    subscriber.onNext(page);
+                }
+            });
+        }
+
+        /**
+         * 以失败结束
+         *
+         * @param e Exception
+         */
+        private void signalError(final Exception e) {
+            if (terminate()) {
+                signal(new Runnable() {
+                    @Override
+                    public void run() {
+                        subscriber.onError(e);
+                    }
+                });
+                releaseIfIdle();
+            }
+        }
+
+        /**
+         * 标记结束
+         *
+         * @return 是否是第一次结束
+         */
+        private boolean terminate() {
+            synchronized (lock) {
+                if (terminated) {
+                    return false;
+                }
+                terminated = true;
+                return true;
+            }
+        }
+
+        private void signal(Runnable runnable) {
+            if (executor == null) {
+                runnable.run();
+            } else {
+                executor.execute(runnable);
+            }
+        }
+    }
+
+}
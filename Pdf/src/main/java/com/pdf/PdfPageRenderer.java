@@ -0,0 +1,195 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.pdf.PdfRenderer;
+import android.os.ParcelFileDescriptor;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Pdf页面渲染
+ * 首次需要时才打开文件，页面都命中缓存时不会打开
+ * Created by lishilin on 2026/10/18
+ */
+class PdfPageRenderer implements Closeable {
+
+    private final File file;
+    private final PdfBitmapPool bitmapPool;
+    private final PdfMetrics metrics;
+
+    private ParcelFileDescriptor fileDescriptor;
+    private PdfRenderer pdfRenderer;
+
+    PdfPageRenderer(File file, PdfBitmapPool bitmapPool, PdfMetrics metrics) {
+        this.file = file;
+        this.bitmapPool = bitmapPool;
+        this.metrics = metrics;
+    }
+
+    PdfMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 打开PdfRenderer
+     *
+     * @return PdfRenderer
+     * @throws IOException IOException
+     */
+    private PdfRenderer open() throws IOException {
+        if (pdfRenderer == null) {
+            final long start = metrics.begin(PdfMetrics.STAGE_OPEN_DOCUMENT);
+            try {
+                fileDescriptor = ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY);
+                pdfRenderer = new PdfRenderer(fileDescriptor);
+            } finally {
+                metrics.end(PdfMetrics.STAGE_OPEN_DOCUMENT, start);
+            }
+        }
+        return pdfRenderer;
+    }
+
+    /**
+     * 获取页数
+     *
+     * @return 页数
+     * @throws IOException IOException
+     */
+    int getPageCount() throws IOException {
+        return open().getPageCount();
+    }
+
+    /**
+     * 读取所有页面的尺寸
+     * 逐页打开后立即关闭，不渲染
+     *
+     * @param widths  页面宽度(Pdf点)，长度为页数
+     * @param heights 页面高度(Pdf点)，长度为页数
+     * @throws IOException IOException
+     */
+    void readPageSizes(int[] widths, int[] heights) throws IOException {
+        for (int i = 0; i < widths.length; i++) {
+            try (PdfRenderer.Page page = openPage(i)) {
+                widths[i] = page.getWidth();
+                heights[i] = page.getHeight();
+            }
+        }
+    }
+
+    /**
+     * 渲染页面
+     *
+     * @param pageIndex 页码(从0开始)
+     * @param options   渲染配置
+     * @return Bitmap
+     * @throws IOException IOException
+     */
+    Bitmap render(int pageIndex, PdfRenderOptions options) throws IOException {
+        try (PdfRenderer.Page page = openPage(pageIndex)) {
+            final float scale = options.getScale(page.getWidth(), page.getHeight());
+            final int width = Math.max(1, Math.round(page.getWidth() * scale));
+            final int height = Math.max(1, Math.round(page.getHeight() * scale));
+
+            Matrix matrix = new Matrix();
+            matrix.setScale(width * 1.0f / page.getWidth(), height * 1.0f / page.getHeight());
+            return render(page, width, height, matrix, options);
+        }
+    }
+
+    /**
+     * 打开页面
+     * 同一时间只能打开一个页面，使用完后需关闭
+     *
+     * @param pageIndex 页码(从0开始)
+     * @return PdfRenderer.Page
+     * @throws IOException IOException
+     */
+    PdfRenderer.Page openPage(int pageIndex) throws IOException {
+        final PdfRenderer renderer = open();
+        final long start = metrics.begin(PdfMetrics.STAGE_OPEN_PAGE);
+        try {
+            return renderer.openPage(pageIndex);
+        } finally {
+            metrics.end(PdfMetrics.STAGE_OPEN_PAGE, start);
+        }
+    }
+
+    /**
+     * 渲染分块
+     * 只渲染分块覆盖的区域，不需要分配整页放大后的Bitmap
+     *
+     * @param page     已打开的页面
+     * @param zoom     缩放比例
+     * @param tileSize 分块大小
+     * @param column   列
+     * @param row      行
+     * @param options  渲染配置(尺寸相关的配置不生效)
+     * @return Bitmap
+     */
+    Bitmap renderTile(PdfRenderer.Page page, float zoom, int tileSize, int column, int row, PdfRenderOptions options) {
+        Matrix matrix = new Matrix();
+        matrix.setScale(zoom, zoom);
+        matrix.postTranslate(-column * tileSize, -row * tileSize);
+        return render(page, tileSize, tileSize, matrix, options);
+    }
+
+    /**
+     * 渲染
+     * PdfRenderer只能渲染到ARGB_8888，其它配置先渲染到临时Bitmap再转换
+     *
+     * @param page    已打开的页面
+     * @param width   宽
+     * @param height  高
+     * @param matrix  页面到Bitmap的变换
+     * @param options 渲染配置
+     * @return Bitmap
+     */
+    private Bitmap render(PdfRenderer.Page page, int width, int height, Matrix matrix, PdfRenderOptions options) {
+        final int backgroundColor = options.getBackgroundColor();
+
+        final long start = metrics.begin(PdfMetrics.STAGE_RENDER);
+        try {
+            final Bitmap bitmap = bitmapPool.get(width, height, Bitmap.Config.ARGB_8888, metrics);
+            metrics.acquire(bitmap.getAllocationByteCount());
+            if (backgroundColor != Color.TRANSPARENT) {
+                bitmap.eraseColor(backgroundColor);
+            }
+
+            page.render(bitmap, null, matrix, options.getRenderMode());
+
+            if (options.getConfig() == Bitmap.Config.ARGB_8888) {
+                metrics.addDecodedBytes(bitmap.getByteCount());
+                return bitmap;
+            }
+
+            // 转换配置
+            final Bitmap result = bitmapPool.get(width, height, options.getConfig(), metrics);
+            metrics.acquire(result.getAllocationByteCount());
+            new Canvas(result).drawBitmap(bitmap, 0, 0, null);
+            metrics.release(bitmap.getAllocationByteCount());
+            bitmapPool.put(bitmap);
+            metrics.addDecodedBytes(result.getByteCount());
+            return result;
+        } finally {
+            metrics.end(PdfMetrics.STAGE_RENDER, start);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pdfRenderer != null) {
+            pdfRenderer.close();
+            pdfRenderer = null;
+        }
+        if (fileDescriptor != null) {
+            fileDescriptor.close();
+            fileDescriptor = null;
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.pdf;
+
+import android.content.Context;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Pdf页面尺寸策略
+ * 页面尺寸单位为point(1/72英寸)，图片按dpi换算：解码目标像素 = point * dpi / 72，图片显示大小 = 像素 * 72 / dpi
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPageSize {
+
+    public static final float A4_WIDTH = 595.28f;// A4宽度(point)
+    public static final float A4_HEIGHT = 841.89f;// A4高度(point)
+    public static final float LETTER_WIDTH = 612;// Letter宽度(point)
+    public static final float LETTER_HEIGHT = 792;// Letter高度(point)
+
+    private static final int POINTS_PER_INCH = 72;
+
+    private float width;// 页面宽度(point)，跟随图片时为0
+    private float height;// 页面高度(point)，跟随图片时为0
+    private int dpi;
+    private int maxLongEdge;// 图片长边最大像素，0为不限制
+
+    private PdfPageSize() {
+    }
+
+    /**
+     * 固定尺寸
+     *
+     * @param width  页面宽度(point)
+     * @param height 页面高度(point)
+     * @param dpi    图片分辨率
+     * @return PdfPageSize
+     */
+    public static PdfPageSize fixed(float width, float height, int dpi) {
+        PdfPageSize pageSize = new PdfPageSize();
+        pageSize.width = Math.max(1, width);
+        pageSize.height = Math.max(1, height);
+        pageSize.dpi = Math.max(1, dpi);
+        return pageSize;
+    }
+
+    /**
+     * A4(纵向)
+     *
+     * @param dpi 图片分辨率
+     * @return PdfPageSize
+     */
+    public static PdfPageSize a4(int dpi) {
+        return fixed(A4_WIDTH, A4_HEIGHT, dpi);
+    }
+
+    /**
+     * Letter(纵向)
+     *
+     * @param dpi 图片分辨率
+     * @return PdfPageSize
+     */
+    public static PdfPageSize letter(int dpi) {
+        return fixed(LETTER_WIDTH, LETTER_HEIGHT, dpi);
+    }
+
+    /**
+     * 屏幕尺寸(1像素 = 1point)
+     * 使用Context资源中的显示尺寸，任何Context(包括Application、Service)都可以使用，不访问WindowManager
+     *
+     * @param context context
+     * @return PdfPageSize
+     */
+    public static PdfPageSize screen(Context context) {
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        return fixed(displayMetrics.widthPixels, displayMetrics.heightPixels, POINTS_PER_INCH);
+    }
+
+    /**
+     * 页面跟随图片尺寸(图片原始分辨率)
+     *
+     * @param dpi 图片分辨率
+     * @return PdfPageSize
+     */
+    public static PdfPageSize fitImage(int dpi) {
+        return maxLongEdge(0, dpi);
+    }
+
+    /**
+     * 页面跟随图片尺寸，图片长边不超过指定像素
+     *
+     * @param maxLongEdge 图片长边最大像素，小于等于0为不限制
+     * @param dpi         图片分辨率
+     * @return PdfPageSize
+     */
+    public static PdfPageSize maxLongEdge(int maxLongEdge, int dpi) {
+        PdfPageSize pageSize = new PdfPageSize();
+        pageSize.maxLongEdge = Math.max(0, maxLongEdge);
+        pageSize.dpi = Math.max(1, dpi);
+        return pageSize;
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    public int getMaxLongEdge() {
+        return maxLongEdge;
+    }
+
+    /**
+     * 页面是否跟随图片尺寸
+     *
+     * @return boolean
+     */
+    public boolean isFitImage() {
+        return width <= 0 || height <= 0;
+    }
+
+    /**
+     * 获取解码目标宽度
+     *
+     * @return 像素，0为不限制
+     */
+    int getDecodeWidth() {
+        if (isFitImage()) {
+            return maxLongEdge;
+        }
+        return Math.round(width * dpi / POINTS_PER_INCH);
+    }
+
+    /**
+     * 获取解码目标高度
+     *
+     * @return 像素，0为不限制
+     */
+    int getDecodeHeight() {
+        if (isFitImage()) {
+            return maxLongEdge;
+        }
+        return Math.round(height * dpi / POINTS_PER_INCH);
+    }
+
+    /**
+     * 像素换算为point
+     *
+     * @param pixel 像素
+     * @return point
+     */
+    float toPoint(float pixel) {
+        return pixel * POINTS_PER_INCH / dpi;
+    }
+
+    /**
+     * 获取页面尺寸
+     *
+     * @param imageWidth  图片宽度(方向校准后，像素)
+     * @param imageHeight 图片高度(方向校准后，像素)
+     * @return {宽, 高}(point)
+     */
+    float[] getPageSize(int imageWidth, int imageHeight) {
+        if (!isFitImage()) {
+            return new float[]{width, height};
+        }
+        float scale = 1;
+        final int longEdge = Math.max(imageWidth, imageHeight);
+        if (maxLongEdge > 0 && longEdge > maxLongEdge) {
+            scale = maxLongEdge * 1.0f / longEdge;
+        }
+        return new float[]{
+                Math.max(1, toPoint(imageWidth * scale)),
+                Math.max(1, toPoint(imageHeight * scale)),
+        };
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PdfPageSize{" +
+                "width=" + width +
+                ", height=" + height +
+                ", dpi=" + dpi +
+                ", maxLongEdge=" + maxLongEdge +
+                '}';
+    }
+
+}
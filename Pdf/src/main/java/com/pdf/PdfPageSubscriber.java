@@ -0,0 +1,39 @@
+package com.pdf;
+
+/**
+ * Pdf页面订阅者
+ * 与 java.util.concurrent.Flow.Subscriber 相同的约定(Flow需要API 30，这里单独定义)：
+ * 先回调 {@link #onSubscribe}，之后按请求的数量回调 {@link #onNext}，最后回调 {@link #onComplete} 或 {@link #onError} 之一，
+ * 回调不会并发执行
+ * Created by lishilin on 2026/10/18
+ */
+public interface PdfPageSubscriber {
+
+    /**
+     * 订阅开始
+     * 调用 {@link PdfSubscription#request} 后才会发出页面
+     *
+     * @param subscription subscription
+     */
+    void onSubscribe(PdfSubscription subscription);
+
+    /**
+     * 页面
+     *
+     * @param page 页面(Bitmap由调用方持有)
+     */
+    void onNext(PdfPage page);
+
+    /**
+     * 失败
+     *
+     * @param e Exception
+     */
+    void onError(Exception e);
+
+    /**
+     * 全部页面已发出
+     */
+    void onComplete();
+
+}
@@ -0,0 +1,85 @@
+package com.pdf;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 生成计划
+ * 生成Pdf前只读取所有图片的文件头得到，包含每页的解码采样、预计峰值内存、输出大小和建议的并行解码数
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfPlan {
+
+    final List<PdfPagePlan> pageList;
+    long peakBytes;// 预计峰值内存
+    long outputBytes;// 预计输出大小
+    int parallelism;// 建议的并行解码数
+    int invalidCount;// 无法读取的图片数
+
+    PdfPlan(List<PdfPagePlan> pageList) {
+        this.pageList = pageList;
+    }
+
+    /**
+     * 获取每页的计划
+     *
+     * @return 与输入的uriList顺序相同
+     */
+    public List<PdfPagePlan> getPageList() {
+        return Collections.unmodifiableList(pageList);
+    }
+
+    public PdfPagePlan getPage(int index) {
+        return pageList.get(index);
+    }
+
+    public int getPageCount() {
+        return pageList.size();
+    }
+
+    /**
+     * 获取预计峰值内存(解码和预取的图片)
+     *
+     * @return 字节数
+     */
+    public long getPeakBytes() {
+        return peakBytes;
+    }
+
+    /**
+     * 获取预计输出大小
+     *
+     * @return 字节数
+     */
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    /**
+     * 获取建议的并行解码数(不超过配置的线程数，且预取的图片不超过内存上限)
+     *
+     * @return 线程数
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PdfPlan{" +
+                "pageCount=" + pageList.size() +
+                ", peakBytes=" + peakBytes +
+                ", outputBytes=" + outputBytes +
+                ", parallelism=" + parallelism +
+                ", invalidCount=" + invalidCount +
+                '}';
+    }
+
+}
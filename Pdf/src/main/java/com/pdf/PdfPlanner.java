@@ -0,0 +1,304 @@
+package com.pdf;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 生成计划
+ * 并行读取所有图片的文件头(尺寸、类型、Exif方向)，不解码像素，计算每页的解码采样、预计峰值内存和输出大小
+ * Created by lishilin on 2026/10/18
+ */
+class PdfPlanner {
+
+    private static final int HEADER_SIZE = 128 * 1024;// 读取的文件头大小(需包含Exif和尺寸)
+    private static final int MAX_THREADS = 4;// 最多同时读取的图片数
+    private static final long CHECK_CANCEL_INTERVAL = 50;// 等待读取时检查取消的间隔(毫秒)
+    private static final int BYTES_PER_PIXEL = 4;// ARGB_8888
+
+    private final Context context;
+
+    PdfPlanner(Context context) {
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+    }
+
+    /**
+     * 生成计划
+     *
+     * @param uriList  uriList
+     * @param pageSize 页面尺寸
+     * @param options  生成配置
+     * @param task     任务
+     * @return PdfPlan
+     * @throws InterruptedException  InterruptedException
+     * @throws ExecutionException    ExecutionException
+     * @throws CancellationException 任务已取消
+     */
+    PdfPlan plan(List<Uri> uriList, final PdfPageSize pageSize, PdfWriteOptions options, PdfTask task) throws InterruptedException, ExecutionException {
+        final int size = uriList.size();
+        final boolean direct = options.getEngine() == PdfWriteOptions.ENGINE_DIRECT;
+        final List<PdfPagePlan> pageList = new ArrayList<>(size);
+
+        final int threads = Math.min(size, MAX_THREADS);
+        if (threads <= 1) {
+            for (Uri uri : uriList) {
+                task.throwIfCancelled();
+                pageList.add(planPage(uri, pageSize, direct));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new PlanThreadFactory());
+            try {
+                List<Future<PdfPagePlan>> futureList = new ArrayList<>(size);
+                for (final Uri uri : uriList) {
+                    futureList.add(executor.submit(new Callable<PdfPagePlan>() {
+                        @Override
+                        public PdfPagePlan call() {
+                            return planPage(uri, pageSize, direct);
+                        }
+                    }));
+                }
+                for (Future<PdfPagePlan> future : futureList) {
+                    while (true) {
+                        try {
+                            pageList.add(future.get(CHECK_CANCEL_INTERVAL, TimeUnit.MILLISECONDS));
+                            break;
+                        } catch (TimeoutException e) {
+                            task.throwIfCancelled();
+                        }
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        task.throwIfCancelled();
+
+        PdfPlan plan = new PdfPlan(pageList);
+        summarize(plan, options, direct);
+        return plan;
+    }
+
+    /**
+     * 读取单页信息
+     *
+     * @param uri      uri
+     * @param pageSize 页面尺寸
+     * @param direct   是否直接写入
+     * @return PdfPagePlan，无法读取时尺寸为0
+     */
+    private PdfPagePlan planPage(Uri uri, PdfPageSize pageSize, boolean direct) {
+        PdfPagePlan page = new PdfPagePlan(uri);
+
+        // 读取文件头
+        byte[] header = new byte[HEADER_SIZE];
+        int length = 0;
+        AssetFileDescriptor fileDescriptor = null;
+        InputStream inputStream = null;
+        try {
+            fileDescriptor = context.getContentResolver().openAssetFileDescriptor(uri, "r");
+            if (fileDescriptor == null) {
+                return page;
+            }
+            page.stats.openCount++;
+            page.fileLength = fileDescriptor.getLength();
+            inputStream = fileDescriptor.createInputStream();
+            int read;
+            while (length < header.length && (read = inputStream.read(header, length, header.length - length)) != -1) {
+                length += read;
+            }
+            page.stats.exifBytes += length;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return page;
+        } finally {
+            try {
+                if (inputStream != null) {
+                    inputStream.close();
+                }
+                if (fileDescriptor != null) {
+                    fileDescriptor.close();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // 尺寸、类型、方向
+        JpegInfo info = JpegInfo.parse(header, length);
+        if (info != null) {
+            page.mimeType = "image/jpeg";
+            page.width = info.width;
+            page.height = info.height;
+            page.orientation = info.orientation;
+        } else {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            BitmapFactory.decodeStream(new ByteArrayInputStream(header, 0, length), null, options);
+            page.mimeType = options.outMimeType;
+            page.width = Math.max(0, options.outWidth);
+            page.height = Math.max(0, options.outHeight);
+            page.orientation = readOrientation(header, length);
+        }
+        if (!page.isValid()) {
+            return page;
+        }
+
+        // 解码采样
+        BitmapFactory.Options options = calculateScale(page.width, page.height, page.orientation, pageSize);
+        if (direct && info != null && info.isPassthrough() && isOriginalSize(options)) {
+            // 原样写入，不需要解码
+            page.passthrough = true;
+            page.jpegInfo = info;
+            page.outputBytes = page.fileLength > 0 ? page.fileLength : (long) page.width * page.height * 3 / 10;
+            return page;
+        }
+        page.sampleSize = options.inSampleSize;
+        page.scaled = options.inScaled;
+        page.density = options.inDensity;
+        page.targetDensity = options.inTargetDensity;
+        page.decodeWidth = PdfImageDecoder.getDecodedSize(page.width, options);
+        page.decodeHeight = PdfImageDecoder.getDecodedSize(page.height, options);
+        page.decodeBytes = (long) page.decodeWidth * page.decodeHeight * BYTES_PER_PIXEL;
+        // 按RGB压缩后约为原始大小的2/3预估
+        page.outputBytes = (long) page.decodeWidth * page.decodeHeight * 3 * 2 / 3;
+        return page;
+    }
+
+    /**
+     * 计算解码缩放
+     * 旋转90°/270°后宽高互换，按旋转前的方向计算
+     *
+     * @param width       原始宽度
+     * @param height      原始高度
+     * @param orientation Exif方向
+     * @param pageSize    页面尺寸
+     * @return 已计算缩放的Options
+     */
+    static BitmapFactory.Options calculateScale(int width, int height, int orientation, PdfPageSize pageSize) {
+        int reqWidth = pageSize.getDecodeWidth();
+        int reqHeight = pageSize.getDecodeHeight();
+        if (PdfImageDecoder.isTransposed(orientation)) {
+            int temp = reqWidth;
+            reqWidth = reqHeight;
+            reqHeight = temp;
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.outWidth = width;
+        options.outHeight = height;
+        PdfImageDecoder.calculateScale(options, reqWidth, reqHeight);
+        return options;
+    }
+
+    /**
+     * 是否按原始尺寸解码(图片没有超出页面的解码尺寸)
+     * 只有这时才能原样写入JPEG，否则需要解码缩小
+     *
+     * @param options 已计算缩放的Options
+     * @return boolean
+     */
+    static boolean isOriginalSize(BitmapFactory.Options options) {
+        return options.inSampleSize == 1 && !options.inScaled;
+    }
+
+    /**
+     * 从文件头读取Exif方向
+     *
+     * @param header 文件头
+     * @param length 文件头长度
+     * @return Exif方向
+     */
+    private static int readOrientation(byte[] header, int length) {
+        try {
+            ExifInterface exif = new ExifInterface(new ByteArrayInputStream(header, 0, length));
+            return exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ExifInterface.ORIENTATION_NORMAL;
+    }
+
+    /**
+     * 汇总峰值内存、输出大小和建议的并行解码数
+     *
+     * @param plan    plan
+     * @param options 生成配置
+     * @param direct  是否直接写入
+     */
+    private static void summarize(PdfPlan plan, PdfWriteOptions options, boolean direct) {
+        final int size = plan.pageList.size();
+        final long memoryLimit = options.getMemoryLimit();
+
+        long[] decodeBytes = new long[size];
+        long maxBytes = 0;
+        long outputBytes = 0;
+        int invalidCount = 0;
+        for (int i = 0; i < size; i++) {
+            PdfPagePlan page = plan.pageList.get(i);
+            if (!page.isValid()) {
+                invalidCount++;
+            }
+            decodeBytes[i] = page.decodeBytes;
+            maxBytes = Math.max(maxBytes, page.decodeBytes);
+            outputBytes += page.outputBytes;
+        }
+
+        // 预取队列最多 并行数*2 张，同时不超过内存上限，按最大的一张计算
+        int parallelism = options.getParallelism();
+        if (maxBytes > 0) {
+            parallelism = (int) Math.max(1, Math.min(parallelism, memoryLimit / (maxBytes * 2)));
+        }
+
+        // 直接写入时逐张解码，Canvas方式最多同时持有预取队列中的图片
+        long peakBytes = maxBytes;
+        if (!direct) {
+            Arrays.sort(decodeBytes);
+            final int count = Math.min(size, parallelism * 2);
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += decodeBytes[size - 1 - i];
+            }
+            peakBytes = Math.max(maxBytes, Math.min(sum, memoryLimit));
+        }
+
+        plan.parallelism = parallelism;
+        plan.peakBytes = peakBytes;
+        plan.outputBytes = outputBytes;
+        plan.invalidCount = invalidCount;
+    }
+
+    /**
+     * 读取线程
+     */
+    private static class PlanThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "PdfPlan-" + count.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+
+}
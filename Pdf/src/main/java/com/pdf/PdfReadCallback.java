@@ -30,12 +30,29 @@ public abstract class PdfReadCallback {
     /**
      * 成功
      *
-     * @param bitmapList 读取的Bitmap
+     * @param bitmapList 读取的Bitmap(可能与页面缓存共享，不能回收)
      */
     public void onSuccess(List<Bitmap> bitmapList) {
 
     }
 
+    /**
+     * 任务统计
+     * 任务结束后(成功、取消、失败之后)回调
+     *
+     * @param metrics 各阶段耗时、解码字节数、新分配的Bitmap数和峰值内存
+     */
+    public void onMetrics(PdfMetrics metrics) {
+
+    }
+
+    /**
+     * 取消
+     */
+    public void onCancel() {
+
+    }
+
     /**
      * 失败
      *
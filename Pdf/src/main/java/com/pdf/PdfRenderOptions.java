@@ -0,0 +1,220 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.pdf.PdfRenderer;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Pdf渲染配置
+ * 渲染尺寸优先级：目标宽高 > 目标宽度/高度 > DPI > 默认(1个Pdf点对应1像素)
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfRenderOptions {
+
+    public static final int RENDER_MODE_FOR_DISPLAY = PdfRenderer.Page.RENDER_MODE_FOR_DISPLAY;// 用于显示
+    public static final int RENDER_MODE_FOR_PRINT = PdfRenderer.Page.RENDER_MODE_FOR_PRINT;// 用于打印
+
+    private static final float POINTS_PER_INCH = 72;// Pdf每英寸的点数
+
+    private int targetWidth;// 目标宽度
+    private int targetHeight;// 目标高度
+    private int dpi;// 渲染DPI
+    private Bitmap.Config config;// Bitmap配置
+    private int backgroundColor;// 背景色
+    private int renderMode;// 渲染模式
+    private Executor callbackExecutor;// 回调执行的Executor
+    private long progressInterval;// 进度回调的最小间隔
+
+    public PdfRenderOptions() {
+        targetWidth = 0;
+        targetHeight = 0;
+        dpi = 0;
+        config = Bitmap.Config.ARGB_8888;
+        backgroundColor = Color.TRANSPARENT;
+        renderMode = RENDER_MODE_FOR_DISPLAY;
+    }
+
+    /**
+     * 设置目标宽度
+     * 同时设置了目标高度时，页面等比缩放到宽高以内
+     *
+     * @param targetWidth 宽度，小于等于0表示不限制
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setTargetWidth(int targetWidth) {
+        this.targetWidth = Math.max(0, targetWidth);
+        return this;
+    }
+
+    public int getTargetWidth() {
+        return targetWidth;
+    }
+
+    /**
+     * 设置目标高度
+     * 同时设置了目标宽度时，页面等比缩放到宽高以内
+     *
+     * @param targetHeight 高度，小于等于0表示不限制
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setTargetHeight(int targetHeight) {
+        this.targetHeight = Math.max(0, targetHeight);
+        return this;
+    }
+
+    public int getTargetHeight() {
+        return targetHeight;
+    }
+
+    /**
+     * 设置渲染DPI(未设置目标宽高时生效)
+     *
+     * @param dpi DPI，72为1个Pdf点对应1像素，小于等于0表示默认
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setDpi(int dpi) {
+        this.dpi = Math.max(0, dpi);
+        return this;
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    /**
+     * 设置Bitmap配置
+     * PdfRenderer只能渲染到ARGB_8888，其它配置会先渲染再转换，RGB_565可减少一半内存
+     *
+     * @param config config，默认ARGB_8888
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setConfig(Bitmap.Config config) {
+        this.config = config == null ? Bitmap.Config.ARGB_8888 : config;
+        return this;
+    }
+
+    public Bitmap.Config getConfig() {
+        return config;
+    }
+
+    /**
+     * 设置背景色
+     * 不透明的Bitmap配置(如RGB_565)在背景色透明时使用白色
+     *
+     * @param backgroundColor 背景色，默认透明
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setBackgroundColor(int backgroundColor) {
+        this.backgroundColor = backgroundColor;
+        return this;
+    }
+
+    public int getBackgroundColor() {
+        if (config == Bitmap.Config.RGB_565 && Color.alpha(backgroundColor) != 0xFF) {
+            return Color.WHITE;
+        }
+        return backgroundColor;
+    }
+
+    /**
+     * 设置渲染模式
+     *
+     * @param renderMode {@link #RENDER_MODE_FOR_DISPLAY} 或 {@link #RENDER_MODE_FOR_PRINT}
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setRenderMode(int renderMode) {
+        this.renderMode = renderMode;
+        return this;
+    }
+
+    public int getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * 设置回调执行的Executor
+     * readPdf的所有回调转发到此Executor执行(如主线程的Executor)，同一任务的回调保持顺序；
+     * 逐页读取时等待onPage在此Executor中执行完才渲染下一页，不能使用读取线程自身作为此Executor的执行线程
+     *
+     * @param callbackExecutor Executor，默认null(在工作线程直接回调)
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * 设置进度回调的最小间隔
+     * 间隔内的中间进度合并丢弃，第一次和最后一次总是回调
+     *
+     * @param progressInterval 毫秒，默认0(每页都回调)
+     * @return PdfRenderOptions
+     */
+    public PdfRenderOptions setProgressInterval(long progressInterval) {
+        this.progressInterval = Math.max(0, progressInterval);
+        return this;
+    }
+
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * 复制配置
+     *
+     * @return PdfRenderOptions
+     */
+    PdfRenderOptions copy() {
+        PdfRenderOptions options = new PdfRenderOptions();
+        options.targetWidth = targetWidth;
+        options.targetHeight = targetHeight;
+        options.dpi = dpi;
+        options.config = config;
+        options.backgroundColor = backgroundColor;
+        options.renderMode = renderMode;
+        options.callbackExecutor = callbackExecutor;
+        options.progressInterval = progressInterval;
+        return options;
+    }
+
+    /**
+     * 计算渲染比例
+     *
+     * @param pageWidth  页面宽度(Pdf点)
+     * @param pageHeight 页面高度(Pdf点)
+     * @return 渲染比例
+     */
+    float getScale(int pageWidth, int pageHeight) {
+        if (targetWidth > 0 && targetHeight > 0) {
+            return Math.min(targetWidth * 1.0f / pageWidth, targetHeight * 1.0f / pageHeight);
+        }
+        if (targetWidth > 0) {
+            return targetWidth * 1.0f / pageWidth;
+        }
+        if (targetHeight > 0) {
+            return targetHeight * 1.0f / pageHeight;
+        }
+        if (dpi > 0) {
+            return dpi / POINTS_PER_INCH;
+        }
+        return 1;
+    }
+
+    /**
+     * 获取缓存Key(不同配置渲染出的页面不同)
+     *
+     * @return Key
+     */
+    String getKey() {
+        return String.format(Locale.US, "%dx%d@%d|%s|%08x|%d", targetWidth, targetHeight, dpi, config, getBackgroundColor(), renderMode);
+    }
+
+}
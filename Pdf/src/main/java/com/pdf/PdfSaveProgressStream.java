@@ -0,0 +1,57 @@
+package com.pdf;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 保存进度输出流
+ * 按已写入字节数与预计输出大小计算保存进度，每变化1%回调一次 {@link PdfWriteCallback#onSaveProgress}，
+ * 预计大小不准确时完成前的进度不超过0.99
+ * Created by lishilin on 2026/10/18
+ */
+class PdfSaveProgressStream extends FilterOutputStream {
+
+    private static final float MAX_PROGRESS = 0.99f;// 完成前的最大进度
+    private static final float STEP = 0.01f;// 回调的最小进度变化
+
+    private final long expectedBytes;// 预计输出大小
+    private final PdfWriteCallback callback;
+    private long count;// 已写入的字节数
+    private float lastProgress;
+
+    PdfSaveProgressStream(OutputStream out, long expectedBytes, PdfWriteCallback callback) {
+        super(out);
+        this.expectedBytes = Math.max(1, expectedBytes);
+        this.callback = callback;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        onWrite(1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        onWrite(len);
+    }
+
+    private void onWrite(int len) {
+        count += len;
+        final float progress = Math.min(MAX_PROGRESS, count * 1.0f / expectedBytes);
+        if (progress - lastProgress >= STEP) {
+            lastProgress = progress;
+            callback.onSaveProgress(progress);
+        }
+    }
+
+    /**
+     * 保存完成
+     */
+    void complete() {
+        callback.onSaveProgress(1);
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.pdf;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Pdf任务调度器
+ * 任务按优先级排队(同优先级先进先出)，同时运行的任务数受线程数限制，
+ * 并按预估内存准入：已运行任务的预估内存加上队首任务超出预算时，队首任务等待，直到有任务完成释放预算；
+ * 单个任务超出预算时，只在没有其他任务运行时执行
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfScheduler implements Executor {
+
+    public static final int PRIORITY_BACKGROUND = 0;// 后台任务，如导出
+    public static final int PRIORITY_NORMAL = 1;// 普通任务
+    public static final int PRIORITY_INTERACTIVE = 2;// 交互任务，如页面渲染
+
+    /**
+     * 排队中的任务
+     */
+    private static class Job implements Comparable<Job> {
+        private final Runnable runnable;
+        private final int priority;
+        private final long estimateBytes;
+        private final long sequence;// 提交顺序
+        private final long enqueueTime;// 入队时间
+
+        private Job(Runnable runnable, int priority, long estimateBytes, long sequence) {
+            this.runnable = runnable;
+            this.priority = priority;
+            this.estimateBytes = Math.max(0, estimateBytes);
+            this.sequence = sequence;
+            this.enqueueTime = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Job> queue = new PriorityQueue<>();
+    private final List<Thread> threadList = new ArrayList<>();
+
+    private final int maxConcurrency;
+    private final long memoryBudget;
+
+    private boolean shutdown;
+    private long sequence;
+    private int runningCount;
+    private long usedMemory;// 运行中任务的预估内存
+
+    private long submitCount;
+    private long completeCount;
+    private long totalWaitTime;
+    private long maxWaitTime;
+
+    /**
+     * 线程数为CPU核数，内存预算为最大堆内存的1/2
+     */
+    public PdfScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    /**
+     * @param maxConcurrency 最多同时运行的任务数
+     * @param memoryBudget   运行中任务的预估内存上限(字节)
+     */
+    public PdfScheduler(int maxConcurrency, long memoryBudget) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.memoryBudget = Math.max(0, memoryBudget);
+    }
+
+    /**
+     * 执行任务(普通优先级，不占用内存预算)
+     *
+     * @param command command
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+        execute(command, PRIORITY_NORMAL, 0);
+    }
+
+    /**
+     * 执行任务
+     *
+     * @param command       command
+     * @param priority      优先级，越大越先执行
+     * @param estimateBytes 预估占用的内存(字节)
+     */
+    public void execute(@NonNull Runnable command, int priority, long estimateBytes) {
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("PdfScheduler 已关闭！");
+            }
+            queue.offer(new Job(command, priority, estimateBytes, sequence++));
+            submitCount++;
+            // 按需创建线程
+            if (threadList.size() < maxConcurrency && threadList.size() < queue.size() + runningCount) {
+                Thread thread = new Thread(new Worker(), "PdfScheduler-" + (threadList.size() + 1));
+                threadList.add(thread);
+                thread.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 关闭
+     * 不再接受新任务，已排队的任务执行完后线程退出
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 队首任务是否可以运行
+     *
+     * @return boolean
+     */
+    private boolean canRunHead() {
+        Job job = queue.peek();
+        if (job == null) {
+            return false;
+        }
+        return runningCount == 0 || usedMemory + job.estimateBytes <= memoryBudget;
+    }
+
+    /**
+     * 工作线程
+     */
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            while (true) {
+                final Job job;
+                synchronized (lock) {
+                    while (!canRunHead() && !(shutdown && queue.isEmpty())) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    if (queue.isEmpty()) {
+                        threadList.remove(Thread.currentThread());
+                        return;
+                    }
+                    job = queue.poll();
+                    runningCount++;
+                    usedMemory += job.estimateBytes;
+
+                    final long waitTime = SystemClock.elapsedRealtime() - job.enqueueTime;
+                    totalWaitTime += waitTime;
+                    maxWaitTime = Math.max(maxWaitTime, waitTime);
+                }
+
+                try {
+                    job.runnable.run();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                } finally {
+                    synchronized (lock) {
+                        runningCount--;
+                        usedMemory -= job.estimateBytes;
+                        completeCount++;
+                        lock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * 获取排队中的任务数
+     *
+     * @return 任务数
+     */
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public int getRunningCount() {
+        synchronized (lock) {
+            return runningCount;
+        }
+    }
+
+    public long getUsedMemory() {
+        synchronized (lock) {
+            return usedMemory;
+        }
+    }
+
+    public long getSubmitCount() {
+        synchronized (lock) {
+            return submitCount;
+        }
+    }
+
+    public long getCompleteCount() {
+        synchronized (lock) {
+            return completeCount;
+        }
+    }
+
+    /**
+     * 获取平均排队时间
+     *
+     * @return 毫秒
+     */
+    public long getAverageWaitTime() {
+        synchronized (lock) {
+            final long startCount = submitCount - queue.size();
+            return startCount > 0 ? totalWaitTime / startCount : 0;
+        }
+    }
+
+    /**
+     * 获取最长排队时间
+     *
+     * @return 毫秒
+     */
+    public long getMaxWaitTime() {
+        synchronized (lock) {
+            return maxWaitTime;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        synchronized (lock) {
+            return "PdfScheduler{" +
+                    "maxConcurrency=" + maxConcurrency +
+                    ", memoryBudget=" + memoryBudget +
+                    ", queueDepth=" + queue.size() +
+                    ", runningCount=" + runningCount +
+                    ", usedMemory=" + usedMemory +
+                    ", submitCount=" + submitCount +
+                    ", completeCount=" + completeCount +
+                    ", maxWaitTime=" + maxWaitTime +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.pdf;
+
+/**
+ * Pdf页面订阅
+ * 与 java.util.concurrent.Flow.Subscription 相同的约定(Flow需要API 30，这里单独定义)
+ * Created by lishilin on 2026/10/18
+ */
+public interface PdfSubscription {
+
+    /**
+     * 请求页面
+     * 最多再发出n页，可在 {@link PdfPageSubscriber#onNext} 中调用
+     *
+     * @param n 页数，必须大于0，否则以IllegalArgumentException结束订阅
+     */
+    void request(long n);
+
+    /**
+     * 取消订阅
+     * 取消读取任务，之后不再发出任何回调
+     */
+    void cancel();
+
+}
@@ -0,0 +1,57 @@
+package com.pdf;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Pdf任务
+ * 用于取消正在进行的生成、读取任务；任务在页面之间、各阶段之间检查是否已取消，
+ * 取消后尽快释放PdfDocument、PdfRenderer、Bitmap，并回调onCancel
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfTask {
+
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    /**
+     * 取消
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 是否已取消
+     *
+     * @return boolean
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 是否已结束(成功、失败或取消)
+     *
+     * @return boolean
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * 标记已结束
+     */
+    void setDone() {
+        done = true;
+    }
+
+    /**
+     * 已取消时抛出CancellationException
+     */
+    void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("任务已取消！");
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+/**
+ * Pdf页面分块
+ * 页面按缩放比例放大后切成固定大小的正方形分块，第column列、第row行的分块覆盖
+ * [column * tileSize, row * tileSize, (column + 1) * tileSize, (row + 1) * tileSize]，超出页面的部分为透明
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfTile {
+
+    private final int pageIndex;
+    private final float zoom;
+    private final int tileSize;
+    private final int column;
+    private final int row;
+    private final Bitmap bitmap;
+
+    PdfTile(int pageIndex, float zoom, int tileSize, int column, int row, Bitmap bitmap) {
+        this.pageIndex = pageIndex;
+        this.zoom = zoom;
+        this.tileSize = tileSize;
+        this.column = column;
+        this.row = row;
+        this.bitmap = bitmap;
+    }
+
+    /**
+     * 获取页码(从0开始)
+     *
+     * @return 页码
+     */
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    /**
+     * 获取缩放比例(1为1个Pdf点对应1像素)
+     *
+     * @return 缩放比例
+     */
+    public float getZoom() {
+        return zoom;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * 获取分块在缩放后页面中的位置
+     *
+     * @return Rect
+     */
+    public Rect getBounds() {
+        final int left = column * tileSize;
+        final int top = row * tileSize;
+        return new Rect(left, top, left + tileSize, top + tileSize);
+    }
+
+    /**
+     * 获取分块Bitmap(与页面缓存共享，不能回收)
+     *
+     * @return Bitmap
+     */
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+}
@@ -0,0 +1,451 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Pdf查看器
+ * 基于RecyclerView按需渲染：打开时只读取页数和页面尺寸，只渲染可见及相邻的页面，渲染宽度为View的实际宽度；
+ * 页面渲染完成前先显示低分辨率的占位图，滑出屏幕的页面释放Bitmap(页面仍在内存缓存中，由缓存按字节数淘汰)，
+ * 内存占用与文档页数无关；离开页面时需要调用 {@link #close()}
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfViewer extends RecyclerView {
+
+    private static final int PLACEHOLDER_SCALE = 4;// 占位图的宽度为页面宽度的几分之一
+
+    private final Executor mainExecutor;
+    private final PageAdapter adapter = new PageAdapter();
+
+    private PdfFuture<PdfDocumentSession> openFuture;
+    private PdfDocumentSession session;
+    private PdfRenderOptions options;// 打开时的渲染配置
+    private PdfRenderOptions pageOptions;// 按View宽度渲染
+    private PdfRenderOptions placeholderOptions;// 低分辨率占位图
+    private int optionsWidth;// pageOptions对应的宽度
+    private int prefetchDistance = 1;
+    private int pageSpacing;
+    private int pageBackgroundColor = Color.WHITE;
+
+    public PdfViewer(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public PdfViewer(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public PdfViewer(@NonNull Context context, @Nullable AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+        mainExecutor = ContextCompat.getMainExecutor(context);
+        setLayoutManager(new LinearLayoutManager(context));
+        addItemDecoration(new ItemDecoration() {
+            @Override
+            public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull State state) {
+                if (parent.getChildAdapterPosition(view) > 0) {
+                    outRect.top = pageSpacing;
+                }
+            }
+        });
+    }
+
+    /**
+     * 打开Pdf
+     *
+     * @param file file
+     * @return PdfFuture，成功时得到文档会话
+     */
+    public PdfFuture<PdfDocumentSession> open(File file) {
+        return open(file, new PdfRenderOptions());
+    }
+
+    /**
+     * 打开Pdf
+     * 在 {@link PdfHelper#getScheduler()} 中打开文档，完成后在主线程显示；会关闭之前打开的文档
+     *
+     * @param file    file
+     * @param options 渲染配置(目标宽高由View宽度决定，设置了也会被忽略)
+     * @return PdfFuture，成功时得到文档会话(由PdfViewer持有，不要关闭)
+     */
+    public PdfFuture<PdfDocumentSession> open(final File file, final PdfRenderOptions options) {
+        close();
+
+        final Context context = getContext();
+        final PdfHelper pdfHelper = PdfHelper.getInstance();
+        final PendingSession pending = new PendingSession();
+        final PdfFuture<PdfDocumentSession> future = new PdfFuture<>(new Callable<PdfDocumentSession>() {
+            @Override
+            public PdfDocumentSession call() throws Exception {
+                final PdfDocumentSession session = pdfHelper.openDocument(context, file, options);
+                if (!pending.offer(session)) {
+                    // 打开过程中已取消，结果不会被取出
+                    session.close();
+                    throw new CancellationException();
+                }
+                return session;
+            }
+        }, new PdfTask());
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                onOpen(future, pending, options);
+            }
+        }, mainExecutor);
+        openFuture = future;
+        pdfHelper.getScheduler().execute(future, PdfScheduler.PRIORITY_INTERACTIVE, 0);
+        return future;
+    }
+
+    /**
+     * 文档打开完成(主线程)
+     *
+     * @param future  打开的Future
+     * @param pending 打开中的文档
+     * @param options 渲染配置
+     */
+    private void onOpen(PdfFuture<PdfDocumentSession> future, PendingSession pending, PdfRenderOptions options) {
+        if (future.isCancelled() || future != openFuture) {
+            // 已取消、关闭或重新打开(取消时打开任务可能仍在执行，由PendingSession保证会话被关闭)
+            pending.abandon();
+            return;
+        }
+        final PdfDocumentSession session;
+        try {
+            session = future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return;
+        }
+        openFuture = null;
+        this.session = session;
+        this.options = options;
+        this.pageOptions = null;
+        session.setPrefetchDistance(prefetchDistance);
+        setAdapter(adapter);
+    }
+
+    /**
+     * 关闭
+     * 取消未完成的打开和渲染，在后台关闭文档(取消时正在打开的文档在打开完成后关闭)
+     */
+    public void close() {
+        if (openFuture != null) {
+            openFuture.cancel(false);
+            openFuture = null;
+        }
+        // 回收所有页面，取消未完成的渲染
+        setAdapter(null);
+        if (session != null) {
+            closeSession(session);
+            session = null;
+        }
+        options = null;
+        pageOptions = null;
+        placeholderOptions = null;
+    }
+
+    /**
+     * 获取当前文档会话
+     *
+     * @return 未打开或打开未完成时返回null
+     */
+    public PdfDocumentSession getSession() {
+        return session;
+    }
+
+    /**
+     * 设置预取范围
+     *
+     * @param prefetchDistance 前后各预取几页，0为不预取，默认1
+     * @return PdfViewer
+     */
+    public PdfViewer setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+        if (session != null) {
+            session.setPrefetchDistance(this.prefetchDistance);
+        }
+        return this;
+    }
+
+    /**
+     * 设置页面间距
+     *
+     * @param pageSpacing 像素，默认0
+     * @return PdfViewer
+     */
+    public PdfViewer setPageSpacing(int pageSpacing) {
+        this.pageSpacing = Math.max(0, pageSpacing);
+        invalidateItemDecorations();
+        return this;
+    }
+
+    /**
+     * 设置页面加载完成前的背景色
+     *
+     * @param pageBackgroundColor 背景色，默认白色
+     * @return PdfViewer
+     */
+    public PdfViewer setPageBackgroundColor(int pageBackgroundColor) {
+        this.pageBackgroundColor = pageBackgroundColor;
+        adapter.notifyDataSetChanged();
+        return this;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (w != oldw && session != null) {
+            // 宽度改变后按新的宽度重新渲染(在布局过程中不能直接刷新)
+            post(new Runnable() {
+                @Override
+                public void run() {
+                    adapter.notifyDataSetChanged();
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取页面显示宽度
+     *
+     * @return 像素
+     */
+    private int getPageWidth() {
+        return Math.max(1, getWidth() - getPaddingLeft() - getPaddingRight());
+    }
+
+    /**
+     * 按页面显示宽度更新渲染配置
+     * 宽度不变时复用同一个配置，预取才能持续按同一配置进行
+     */
+    private void updateOptions() {
+        final int width = getPageWidth();
+        if (pageOptions != null && optionsWidth == width) {
+            return;
+        }
+        optionsWidth = width;
+        pageOptions = options.copy()
+                .setTargetWidth(width)
+                .setTargetHeight(0);
+        placeholderOptions = options.copy()
+                .setTargetWidth(Math.max(1, width / PLACEHOLDER_SCALE))
+                .setTargetHeight(0);
+    }
+
+    /**
+     * 在后台关闭文档(等待正在渲染的页面完成，不阻塞主线程)
+     *
+     * @param session session
+     */
+    private static void closeSession(final PdfDocumentSession session) {
+        PdfHelper.getInstance().getScheduler().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    session.close();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * 打开中的文档
+     * 打开任务开始后取消时FutureTask会丢弃结果，这里保存打开的会话：
+     * 先放弃时由打开任务关闭，先打开完成时由放弃的一方关闭
+     */
+    private static class PendingSession {
+
+        private PdfDocumentSession session;
+        private boolean abandoned;
+
+        /**
+         * 打开完成(工作线程)
+         *
+         * @param session session
+         * @return false: 已放弃，调用方需要关闭session
+         */
+        private synchronized boolean offer(PdfDocumentSession session) {
+            if (abandoned) {
+                return false;
+            }
+            this.session = session;
+            return true;
+        }
+
+        /**
+         * 放弃(主线程)，已打开的会话在后台关闭
+         */
+        private void abandon() {
+            final PdfDocumentSession session;
+            synchronized (this) {
+                abandoned = true;
+                session = this.session;
+                this.session = null;
+            }
+            if (session != null) {
+                closeSession(session);
+            }
+        }
+    }
+
+    /**
+     * 页面
+     */
+    private static class PageHolder extends ViewHolder {
+
+        private final ImageView imageView;
+
+        private PdfFuture<Bitmap> pageFuture;// 页面
+        private PdfFuture<Bitmap> placeholderFuture;// 占位图
+        private boolean loaded;// 已显示页面(不再显示占位图)
+
+        private PageHolder(ImageView imageView) {
+            super(imageView);
+            this.imageView = imageView;
+        }
+
+        /**
+         * 取消未完成的渲染，释放Bitmap
+         */
+        private void clear() {
+            if (pageFuture != null) {
+                pageFuture.cancel(false);
+                pageFuture = null;
+            }
+            if (placeholderFuture != null) {
+                placeholderFuture.cancel(false);
+                placeholderFuture = null;
+            }
+            loaded = false;
+            imageView.setImageBitmap(null);
+        }
+    }
+
+    private class PageAdapter extends Adapter<PageHolder> {
+
+        @NonNull
+        @Override
+        public PageHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            ImageView imageView = new ImageView(parent.getContext());
+            imageView.setScaleType(ImageView.ScaleType.FIT_XY);// 占位图拉伸到页面大小
+            imageView.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return new PageHolder(imageView);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull final PageHolder holder, final int position) {
+            holder.clear();
+            if (session == null) {
+                return;
+            }
+            updateOptions();
+
+            // 按页面比例确定高度，渲染完成前位置不变
+            final int width = getPageWidth();
+            final ViewGroup.LayoutParams layoutParams = holder.imageView.getLayoutParams();
+            layoutParams.height = Math.round(width * 1.0f * session.getPageHeight(position) / session.getPageWidth(position));
+            holder.imageView.setLayoutParams(layoutParams);
+            holder.imageView.setBackgroundColor(pageBackgroundColor);
+
+            // 内存缓存中已有页面(如已预取)时直接显示
+            Bitmap bitmap = session.getCachedPage(position, pageOptions);
+            if (bitmap != null) {
+                holder.loaded = true;
+                holder.imageView.setImageBitmap(bitmap);
+            } else {
+                bitmap = session.getCachedPage(position, placeholderOptions);
+                if (bitmap != null) {
+                    holder.imageView.setImageBitmap(bitmap);
+                } else {
+                    final PdfFuture<Bitmap> placeholderFuture = session.loadAsync(position, placeholderOptions);
+                    holder.placeholderFuture = placeholderFuture;
+                    placeholderFuture.addListener(new Runnable() {
+                        @Override
+                        public void run() {
+                            onLoad(holder, placeholderFuture, false);
+                        }
+                    }, mainExecutor);
+                }
+            }
+
+            // 已缓存时也请求一次，以便预取相邻页面
+            final PdfFuture<Bitmap> pageFuture = session.getPageAsync(position, pageOptions);
+            holder.pageFuture = pageFuture;
+            pageFuture.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    onLoad(holder, pageFuture, true);
+                }
+            }, mainExecutor);
+        }
+
+        /**
+         * 渲染完成(主线程)
+         *
+         * @param holder holder
+         * @param future 渲染的Future
+         * @param page   true: 页面; false: 占位图
+         */
+        private void onLoad(PageHolder holder, PdfFuture<Bitmap> future, boolean page) {
+            if (future.isCancelled()) {
+                return;
+            }
+            if (future != (page ? holder.pageFuture : holder.placeholderFuture)) {
+                // 已重新绑定
+                return;
+            }
+            final Bitmap bitmap;
+            try {
+                bitmap = future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+                return;
+            }
+            if (page) {
+                holder.pageFuture = null;
+                if (holder.placeholderFuture != null) {
+                    holder.placeholderFuture.cancel(false);
+                    holder.placeholderFuture = null;
+                }
+                holder.loaded = true;
+                holder.imageView.setImageBitmap(bitmap);
+            } else {
+                holder.placeholderFuture = null;
+                if (!holder.loaded) {
+                    holder.imageView.setImageBitmap(bitmap);
+                }
+            }
+        }
+
+        @Override
+        public void onViewRecycled(@NonNull PageHolder holder) {
+            holder.clear();
+        }
+
+        @Override
+        public int getItemCount() {
+            return session == null ? 0 : session.getPageCount();
+        }
+    }
+
+}
@@ -15,6 +15,15 @@ public abstract class PdfWriteCallback {
 
     }
 
+    /**
+     * 生成计划完成(只读取了文件头，还未解码)
+     *
+     * @param plan 生成计划(每页的解码采样、预计峰值内存和输出大小)
+     */
+    public void onPlan(PdfPlan plan) {
+
+    }
+
     /**
      * 进度
      *
@@ -25,6 +34,16 @@ public abstract class PdfWriteCallback {
 
     }
 
+    /**
+     * 图片读取统计
+     *
+     * @param index 当前第几个
+     * @param stats 读取统计(打开次数、各阶段读取字节数)
+     */
+    public void onInputStats(int index, PdfInputStats stats) {
+
+    }
+
     /**
      * 保存文件
      */
@@ -33,7 +52,18 @@ public abstract class PdfWriteCallback {
     }
 
     /**
-     * 成功
+     * 保存进度
+     * {@link #onSaveFile} 之后按已写入的字节数回调，{@link PdfWriteOptions#ENGINE_CANVAS} 时整个文件在此阶段写入，
+     * 按生成计划的预计输出大小计算，完成前不超过0.99；{@link PdfWriteOptions#ENGINE_DIRECT} 时页面已逐页写入，只回调完成
+     *
+     * @param progress 0~1
+     */
+    public void onSaveProgress(float progress) {
+
+    }
+
+    /**
+     * 成功(输出到文件时)
      *
      * @param file 保存的文件
      */
@@ -41,6 +71,36 @@ public abstract class PdfWriteCallback {
 
     }
 
+    /**
+     * 成功
+     * 默认输出到文件时回调 {@link #onSuccess(File)}
+     *
+     * @param output 输出目标
+     * @param length 写入的字节数
+     */
+    public void onSuccess(PdfOutput output, long length) {
+        if (output.getFile() != null) {
+            onSuccess(output.getFile());
+        }
+    }
+
+    /**
+     * 任务统计
+     * 任务结束后(成功、取消、失败之后)回调
+     *
+     * @param metrics 各阶段耗时、解码字节数、新分配的Bitmap数和峰值内存
+     */
+    public void onMetrics(PdfMetrics metrics) {
+
+    }
+
+    /**
+     * 取消
+     */
+    public void onCancel() {
+
+    }
+
     /**
      * 失败
      *
@@ -0,0 +1,147 @@
+package com.pdf;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Pdf生成配置
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfWriteOptions {
+
+    public static final int ENGINE_CANVAS = 0;// 解码后绘制到PdfDocument，所有页保留到最后一次写入
+    public static final int ENGINE_DIRECT = 1;// 直接写入Pdf，每页写完立即输出，JPEG不解码
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;// 默认写入缓冲区大小
+
+    private int engine;// 生成方式
+    private PdfPageSize pageSize;// 页面尺寸
+    private int parallelism;// 并行解码线程数
+    private long memoryLimit;// 预解码图片占用内存上限
+    private int bufferSize;// 写入缓冲区大小
+    private Executor callbackExecutor;// 回调执行的Executor
+    private long progressInterval;// 进度回调的最小间隔
+
+    public PdfWriteOptions() {
+        engine = ENGINE_CANVAS;
+        parallelism = 1;
+        memoryLimit = 0;
+        bufferSize = DEFAULT_BUFFER_SIZE;
+    }
+
+    /**
+     * 设置生成方式
+     * {@link #ENGINE_DIRECT}：每页写完立即输出到文件，内存占用与页数无关；8位灰度/RGB的JPEG原样写入，不解码也不重新编码，其他图片解码后压缩写入；
+     * {@link #ENGINE_CANVAS}：使用PdfDocument，所有页保存在内存中，全部完成后才写入文件；
+     * 两种方式生成的Pdf内容不同(图片编码、页面结构)，默认保持原有的 {@link #ENGINE_CANVAS}，需要时主动选择 {@link #ENGINE_DIRECT}
+     *
+     * @param engine {@link #ENGINE_CANVAS} 或 {@link #ENGINE_DIRECT}，默认 {@link #ENGINE_CANVAS}
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setEngine(int engine) {
+        this.engine = engine;
+        return this;
+    }
+
+    public int getEngine() {
+        return engine;
+    }
+
+    /**
+     * 设置页面尺寸
+     * 如 {@link PdfPageSize#a4}、{@link PdfPageSize#fitImage}、{@link PdfPageSize#maxLongEdge}，图片解码目标尺寸由页面尺寸和dpi决定
+     *
+     * @param pageSize 页面尺寸，默认null(使用屏幕尺寸 {@link PdfPageSize#screen})
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setPageSize(PdfPageSize pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public PdfPageSize getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * 设置并行解码线程数
+     * 大于1时启用流水线：多个线程提前解码后续图片，调用线程按顺序绘制到Pdf
+     *
+     * @param parallelism 线程数，默认1(串行)
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 设置预解码图片占用内存上限
+     *
+     * @param memoryLimit 字节数，小于等于0时为最大堆内存的1/4
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+        return this;
+    }
+
+    public long getMemoryLimit() {
+        if (memoryLimit <= 0) {
+            return Runtime.getRuntime().maxMemory() / 4;
+        }
+        return memoryLimit;
+    }
+
+    /**
+     * 设置写入缓冲区大小
+     * 写入目标前先在内存中缓冲，减少对文件、FileDescriptor或Uri的写入次数
+     *
+     * @param bufferSize 字节数，默认64K
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setBufferSize(int bufferSize) {
+        this.bufferSize = Math.max(1, bufferSize);
+        return this;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 设置回调执行的Executor
+     * 所有回调转发到此Executor执行(如主线程的Executor)，同一任务的回调保持顺序
+     *
+     * @param callbackExecutor Executor，默认null(在工作线程直接回调)
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * 设置进度回调的最小间隔
+     * 间隔内的中间进度(包括保存进度)合并丢弃，第一次和最后一次总是回调
+     *
+     * @param progressInterval 毫秒，默认0(每页都回调)
+     * @return PdfWriteOptions
+     */
+    public PdfWriteOptions setProgressInterval(long progressInterval) {
+        this.progressInterval = Math.max(0, progressInterval);
+        return this;
+    }
+
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+}
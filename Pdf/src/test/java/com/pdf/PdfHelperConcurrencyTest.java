@@ -0,0 +1,223 @@
+package com.pdf;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.net.Uri;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * PdfHelper 并发生成
+ * 多个线程同时生成Pdf，结果应与单独生成时相同；
+ * Canvas方式使用 {@link ShadowRecordingPdfDocument} 记录每页的绘制结果，绘制状态(Paint、Matrix)被共享时页面会不同
+ * Created by lishilin on 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 29, shadows = ShadowRecordingPdfDocument.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class PdfHelperConcurrencyTest {
+
+    private static final long SEED = 20261018;
+    private static final int IMAGE_COUNT = 12;
+    private static final int THREAD_COUNT = 4;
+
+    // 小于和大于A4(150dpi)解码尺寸的图片，覆盖原样写入和解码写入
+    private static final int[][] SIZES = {
+            {640, 480},
+            {1920, 1080},
+            {480, 640},
+    };
+    private static final int[] ORIENTATIONS = {
+            ExifInterface.ORIENTATION_NORMAL,
+            ExifInterface.ORIENTATION_ROTATE_90,
+    };
+
+    @Test
+    public void concurrentDirectWrite() throws Exception {
+        // 直接写入的输出与时间无关，可以逐字节比较
+        concurrentWrite(PdfWriteOptions.ENGINE_DIRECT, "direct");
+    }
+
+    @Test
+    public void concurrentCanvasWrite() throws Exception {
+        // 输出为每页的尺寸和像素摘要
+        final File serialFile = concurrentWrite(PdfWriteOptions.ENGINE_CANVAS, "canvas");
+        assertEquals(IMAGE_COUNT, readLines(serialFile).size());
+    }
+
+    /**
+     * 先单独生成一次，再多个线程同时生成，比较结果
+     *
+     * @param engine 生成引擎
+     * @param name   文件名前缀
+     * @return 单独生成的文件
+     */
+    private File concurrentWrite(int engine, String name) throws Exception {
+        final Context context = RuntimeEnvironment.getApplication();
+        final File directory = new File(context.getCacheDir(), "concurrency");
+        final List<Uri> uriList = createImages(directory, IMAGE_COUNT);
+
+        final PdfWriteOptions options = new PdfWriteOptions()
+                .setEngine(engine)
+                .setPageSize(PdfPageSize.a4(150));
+
+        // 单独生成
+        final File serialFile = new File(directory, name + "_serial.pdf");
+        assertNull(write(context, uriList, serialFile, options));
+        final byte[] expected = digest(serialFile);
+
+        // 同时生成
+        final List<File> fileList = new ArrayList<>();
+        final Exception[] errors = new Exception[THREAD_COUNT];
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Thread> threadList = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final int index = i;
+            final File file = new File(directory, name + "_concurrent_" + i + ".pdf");
+            fileList.add(file);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        errors[index] = write(context, uriList, file, options);
+                    } catch (InterruptedException e) {
+                        errors[index] = e;
+                    }
+                }
+            });
+            threadList.add(thread);
+            thread.start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            assertNull(Arrays.toString(errors), errors[i]);
+            assertArrayEquals(name + "_concurrent_" + i, expected, digest(fileList.get(i)));
+        }
+        return serialFile;
+    }
+
+    /**
+     * 按固定种子生成图片，依次轮换尺寸、格式(JPEG/PNG)和Exif方向(仅JPEG)
+     *
+     * @param directory 输出目录
+     * @param count     数量
+     * @return uriList
+     */
+    private static List<Uri> createImages(File directory, int count) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录：" + directory);
+        }
+        final Random random = new Random(SEED);
+        final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        final List<Uri> uriList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int[] size = SIZES[i % SIZES.length];
+            final boolean jpeg = (i / SIZES.length) % 2 == 0;
+            final int orientation = ORIENTATIONS[(i / (SIZES.length * 2)) % ORIENTATIONS.length];
+
+            final Bitmap bitmap = Bitmap.createBitmap(size[0], size[1], Bitmap.Config.ARGB_8888);
+            final Canvas canvas = new Canvas(bitmap);
+            canvas.drawColor(Color.rgb(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            for (int j = 0; j < 20; j++) {
+                paint.setColor(Color.rgb(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+                final float x = random.nextFloat() * size[0];
+                final float y = random.nextFloat() * size[1];
+                final float r = (0.02f + random.nextFloat() * 0.1f) * Math.min(size[0], size[1]);
+                canvas.drawCircle(x, y, r, paint);
+            }
+            final File file = new File(directory, "image_" + i + (jpeg ? ".jpg" : ".png"));
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+                bitmap.compress(jpeg ? Bitmap.CompressFormat.JPEG : Bitmap.CompressFormat.PNG, 90, outputStream);
+            } finally {
+                bitmap.recycle();
+            }
+            if (jpeg && orientation != ExifInterface.ORIENTATION_NORMAL) {
+                ExifInterface exif = new ExifInterface(file.getAbsolutePath());
+                exif.setAttribute(ExifInterface.TAG_ORIENTATION, String.valueOf(orientation));
+                exif.saveAttributes();
+            }
+            uriList.add(Uri.fromFile(file));
+        }
+        return uriList;
+    }
+
+    /**
+     * 同步生成
+     *
+     * @return 失败时的异常
+     */
+    private static Exception write(Context context, List<Uri> uriList, File file, PdfWriteOptions options) {
+        final Exception[] error = new Exception[1];
+        PdfHelper.getInstance().photoToPdf(context, uriList, PdfOutput.fromFile(file), options, new PdfTask(), new PdfWriteCallback() {
+            @Override
+            public void onCancel() {
+                error[0] = new IllegalStateException("已取消！");
+            }
+
+            @Override
+            public void onFail(Exception e) {
+                error[0] = e;
+            }
+        });
+        return error[0];
+    }
+
+    private static List<String> readLines(File file) throws Exception {
+        final List<String> lineList = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineList.add(line);
+            }
+        }
+        return lineList;
+    }
+
+    private static byte[] digest(File file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream inputStream = new FileInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.pdf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.pdf.PdfDocument;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.util.ReflectionHelpers;
+import org.robolectric.util.ReflectionHelpers.ClassParameter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 记录绘制结果的PdfDocument
+ * Robolectric中PdfDocument没有原生实现，这里每页使用Bitmap作为Canvas，
+ * finishPage时记录页面尺寸和像素摘要，writeTo输出每页一行摘要，可以逐页比较绘制结果(尺寸、变换、像素)
+ * Created by lishilin on 2026/10/18
+ */
+@Implements(PdfDocument.class)
+public class ShadowRecordingPdfDocument {
+
+    private final List<String> pageList = new ArrayList<>();
+    private Bitmap pageBitmap;
+
+    @Implementation
+    protected void __constructor__() {
+    }
+
+    @Implementation
+    protected PdfDocument.Page startPage(PdfDocument.PageInfo pageInfo) {
+        if (pageBitmap != null) {
+            throw new IllegalStateException("上一页没有结束！");
+        }
+        pageBitmap = Bitmap.createBitmap(pageInfo.getPageWidth(), pageInfo.getPageHeight(), Bitmap.Config.ARGB_8888);
+        return ReflectionHelpers.callConstructor(PdfDocument.Page.class,
+                ClassParameter.from(Canvas.class, new Canvas(pageBitmap)),
+                ClassParameter.from(PdfDocument.PageInfo.class, pageInfo));
+    }
+
+    @Implementation
+    protected void finishPage(PdfDocument.Page page) {
+        if (pageBitmap == null) {
+            throw new IllegalStateException("没有开始的页面！");
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(pageBitmap.getByteCount());
+        pageBitmap.copyPixelsToBuffer(buffer);
+        pageList.add(String.format(Locale.US, "%dx%d %s", pageBitmap.getWidth(), pageBitmap.getHeight(), toHex(digest(buffer.array()))));
+        pageBitmap.recycle();
+        pageBitmap = null;
+    }
+
+    @Implementation
+    protected void writeTo(OutputStream out) throws IOException {
+        for (String page : pageList) {
+            out.write((page + "\n").getBytes("UTF-8"));
+        }
+    }
+
+    @Implementation
+    protected void close() {
+        if (pageBitmap != null) {
+            pageBitmap.recycle();
+            pageBitmap = null;
+        }
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] data) {
+        StringBuilder builder = new StringBuilder(data.length * 2);
+        for (byte b : data) {
+            builder.append(String.format(Locale.US, "%02x", b & 0xFF));
+        }
+        return builder.toString();
+    }
+
+}
@@ -1,33 +1,35 @@
 package com.mask.pdflibrary;
 
 import android.app.Activity;
-import android.graphics.Bitmap;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Environment;
 import android.view.View;
-import android.view.ViewGroup;
-import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 
 import com.huantansheng.easyphotos.EasyPhotos;
 import com.huantansheng.easyphotos.callback.SelectCallback;
 import com.huantansheng.easyphotos.models.album.entity.Photo;
-import com.mask.photo.interfaces.SaveBitmapCallback;
-import com.mask.photo.utils.BitmapUtils;
+import com.pdf.PdfDocumentSession;
+import com.pdf.PdfFuture;
 import com.pdf.PdfHelper;
-import com.pdf.PdfReadCallback;
+import com.pdf.PdfMetrics;
+import com.pdf.PdfOutput;
+import com.pdf.PdfRenderOptions;
+import com.pdf.PdfScheduler;
+import com.pdf.PdfTask;
+import com.pdf.PdfViewer;
 import com.pdf.PdfWriteCallback;
+import com.pdf.PdfWriteOptions;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -36,7 +38,7 @@ public class MainActivity extends AppCompatActivity {
     private View btn_choose;
     private View btn_start;
     private View btn_display;
-    private ViewGroup layout_content;
+    private PdfViewer pdf_viewer;
     private TextView tv_input;
     private TextView tv_output;
 
@@ -47,7 +49,9 @@ public class MainActivity extends AppCompatActivity {
 
     private boolean isLoading;
 
-    private ExecutorService threadPool;
+    private PdfScheduler scheduler;
+
+    private PdfTask writeTask;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -63,11 +67,21 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        // 离开页面时取消未完成的任务
+        if (writeTask != null) {
+            writeTask.cancel();
+        }
+        pdf_viewer.close();
+        super.onDestroy();
+    }
+
     private void initView() {
         btn_choose = findViewById(R.id.btn_choose);
         btn_start = findViewById(R.id.btn_start);
         btn_display = findViewById(R.id.btn_display);
-        layout_content = findViewById(R.id.layout_content);
+        pdf_viewer = findViewById(R.id.pdf_viewer);
         tv_input = findViewById(R.id.tv_input);
         tv_output = findViewById(R.id.tv_output);
     }
@@ -101,7 +115,7 @@ public class MainActivity extends AppCompatActivity {
 
         isLoading = false;
 
-        threadPool = Executors.newCachedThreadPool();
+        scheduler = PdfHelper.getInstance().getScheduler();
 
         refreshView();
     }
@@ -149,199 +163,117 @@ public class MainActivity extends AppCompatActivity {
      * 生成Pdf
      */
     private void start() {
-        Runnable runnable = new Runnable() {
+        final File outputFile = new File(dirFile, System.currentTimeMillis() + ".pdf");
+        PdfWriteOptions options = new PdfWriteOptions()
+                .setEngine(PdfWriteOptions.ENGINE_DIRECT)// 每页写完立即输出，JPEG不重新编码
+                .setParallelism(Runtime.getRuntime().availableProcessors())
+                .setCallbackExecutor(ContextCompat.getMainExecutor(activity))// 回调在主线程执行
+                .setProgressInterval(500);// 最多每500毫秒回调一次进度
+        writeTask = PdfHelper.getInstance().photoToPdf(activity, photoList, PdfOutput.fromFile(outputFile), options, scheduler, PdfScheduler.PRIORITY_BACKGROUND, new PdfWriteCallback() {
             @Override
-            public void run() {
-                final File outputFile = new File(dirFile, System.currentTimeMillis() + ".pdf");
-                PdfHelper.getInstance().photoToPdf(activity, photoList, outputFile, new PdfWriteCallback() {
-                    @Override
-                    public void onStart() {
-                        super.onStart();
+            public void onStart() {
+                super.onStart();
 
-                        LogUtil.i("start onStart");
+                LogUtil.i("start onStart");
 
-                        runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                Toast.makeText(getApplication(), "生成Pdf开始", Toast.LENGTH_SHORT).show();
+                Toast.makeText(getApplication(), "生成Pdf开始", Toast.LENGTH_SHORT).show();
 
-                                isLoading = true;
+                isLoading = true;
 
-                                refreshView();
-                            }
-                        });
-                    }
+                refreshView();
+            }
 
-                    @Override
-                    public void onProgress(final int index, final int total) {
-                        super.onProgress(index, total);
+            @Override
+            public void onProgress(int index, int total) {
+                super.onProgress(index, total);
 
-                        LogUtil.i("start onProgress: " + index + "/" + total);
+                LogUtil.i("start onProgress: " + index + "/" + total);
 
-                        runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                Toast.makeText(getApplication(), "生成Pdf进度 " + index + "/" + total, Toast.LENGTH_SHORT).show();
-                            }
-                        });
-                    }
+                Toast.makeText(getApplication(), "生成Pdf进度 " + index + "/" + total, Toast.LENGTH_SHORT).show();
+            }
 
-                    @Override
-                    public void onSaveFile() {
-                        super.onSaveFile();
+            @Override
+            public void onSaveFile() {
+                super.onSaveFile();
 
-                        LogUtil.i("start onSaveFile");
+                LogUtil.i("start onSaveFile");
 
-                        runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                Toast.makeText(getApplication(), "生成Pdf写入文件", Toast.LENGTH_SHORT).show();
-                            }
-                        });
-                    }
+                Toast.makeText(getApplication(), "生成Pdf写入文件", Toast.LENGTH_SHORT).show();
+            }
 
-                    @Override
-                    public void onSuccess(final File file) {
-                        super.onSuccess(file);
+            @Override
+            public void onSaveProgress(float progress) {
+                super.onSaveProgress(progress);
 
-                        LogUtil.i("start onSuccess: " + file.getAbsolutePath());
+                LogUtil.i("start onSaveProgress: " + Math.round(progress * 100) + "%");
+            }
 
-                        runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                saveFile = file;
+            @Override
+            public void onSuccess(File file) {
+                super.onSuccess(file);
 
-                                Toast.makeText(getApplication(), "生成Pdf成功", Toast.LENGTH_LONG).show();
+                LogUtil.i("start onSuccess: " + file.getAbsolutePath());
 
-                                isLoading = false;
+                saveFile = file;
 
-                                refreshView();
-                            }
-                        });
-                    }
+                Toast.makeText(getApplication(), "生成Pdf成功", Toast.LENGTH_LONG).show();
 
-                    @Override
-                    public void onFail(Exception e) {
-                        super.onFail(e);
+                isLoading = false;
+
+                refreshView();
+            }
+
+            @Override
+            public void onMetrics(PdfMetrics metrics) {
+                super.onMetrics(metrics);
 
-                        e.printStackTrace();
+                LogUtil.i("start onMetrics: " + metrics);
+            }
 
-                        LogUtil.e("start onFail");
+            @Override
+            public void onCancel() {
+                super.onCancel();
 
-                        runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                saveFile = null;
+                LogUtil.i("start onCancel");
+            }
 
-                                Toast.makeText(getApplication(), "生成Pdf失败", Toast.LENGTH_LONG).show();
+            @Override
+            public void onFail(Exception e) {
+                super.onFail(e);
 
-                                isLoading = false;
+                e.printStackTrace();
 
-                                refreshView();
-                            }
-                        });
-                    }
-                });
+                LogUtil.e("start onFail");
+
+                saveFile = null;
+
+                Toast.makeText(getApplication(), "生成Pdf失败", Toast.LENGTH_LONG).show();
+
+                isLoading = false;
+
+                refreshView();
             }
-        };
-        threadPool.execute(runnable);
+        });
     }
 
     /**
      * 显示Pdf
+     * 按需渲染可见页面，不需要等待所有页面渲染完成
      */
     private void display() {
-        Runnable runnable = new Runnable() {
+        final PdfFuture<PdfDocumentSession> future = pdf_viewer.open(saveFile, new PdfRenderOptions());
+        future.addListener(new Runnable() {
             @Override
             public void run() {
-                PdfHelper.getInstance().readPdf(activity, saveFile, new PdfReadCallback() {
-                    @Override
-                    public void onStart() {
-                        super.onStart();
+                try {
+                    LogUtil.i("display onOpen: " + future.get().getPageCount());
+                } catch (Exception e) {
+                    e.printStackTrace();
 
-                        LogUtil.i("display onStart");
-                    }
-
-                    @Override
-                    public void onProgress(int index, int total) {
-                        super.onProgress(index, total);
-
-                        LogUtil.i("display onProgress: " + index + "/" + total);
-                    }
-
-                    @Override
-                    public void onSuccess(final List<Bitmap> bitmapList) {
-                        super.onSuccess(bitmapList);
-
-                        LogUtil.i("display onSuccess: " + bitmapList.size());
-
-                        final int size = bitmapList.size();
-                        final int count = layout_content.getChildCount();
-
-                        activity.runOnUiThread(new Runnable() {
-                            @Override
-                            public void run() {
-                                // 显示图片
-                                for (int i = 0; i < size; i++) {
-                                    Bitmap bitmap = bitmapList.get(i);
-                                    ImageView img_pdf;
-                                    if (i < count) {
-                                        img_pdf = (ImageView) layout_content.getChildAt(i);
-                                    } else {
-                                        img_pdf = new ImageView(activity);
-                                        layout_content.addView(img_pdf, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
-                                    }
-                                    img_pdf.setImageBitmap(bitmap);
-                                }
-                                // 移除多余的ImageView
-                                if (count > size) {
-                                    int num = count - size;
-                                    layout_content.removeViews(size, num);
-                                }
-                            }
-                        });
-
-                        Runnable runnable = new Runnable() {
-                            @Override
-                            public void run() {
-                                // 保存图片
-                                for (int i = 0; i < size; i++) {
-                                    Bitmap bitmap = bitmapList.get(i);
-                                    final String fileName = saveFile.getName() + "_" + (i + 1) + ".png";
-                                    File file = new File(dirFile, fileName);
-                                    if (!file.exists()) {
-                                        BitmapUtils.saveBitmapToFile(bitmap, file, new SaveBitmapCallback() {
-                                            @Override
-                                            public void onSuccess(File file) {
-                                                super.onSuccess(file);
-
-                                                LogUtil.i("save onSuccess: " + file.getAbsolutePath());
-                                            }
-
-                                            @Override
-                                            public void onFail(Exception e) {
-                                                super.onFail(e);
-
-                                                LogUtil.e("save onFail");
-                                            }
-                                        });
-                                    }
-                                }
-                            }
-                        };
-                        threadPool.execute(runnable);
-                    }
-
-                    @Override
-                    public void onFail(Exception e) {
-                        super.onFail(e);
-
-                        LogUtil.e("display onFail");
-                    }
-                });
+                    LogUtil.e("display onFail");
+                }
             }
-        };
-        threadPool.execute(runnable);
+        }, ContextCompat.getMainExecutor(activity));
     }
 
 }
\ No newline at end of file
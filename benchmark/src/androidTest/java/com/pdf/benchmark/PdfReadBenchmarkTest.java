@@ -0,0 +1,67 @@
+package com.pdf.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.pdf.PdfRenderOptions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 在设备上运行读取Pdf的基准测试
+ * ./gradlew :benchmark:connectedDebugAndroidTest
+ * 结果写入设备的 Android/data/com.pdf.benchmark.test/files/benchmark/read_results.json
+ * 读取使用真实的PdfRenderer，语料Pdf由直接写入引擎生成
+ * Created by lishilin on 2026/10/18
+ */
+@RunWith(AndroidJUnit4.class)
+public class PdfReadBenchmarkTest {
+
+    private static final long SEED = 20261018;
+    private static final int PDF_PAGE_COUNT = 50;
+    private static final int WARMUP_COUNT = 1;
+    private static final int ITERATION_COUNT = 3;
+
+    @Test
+    public void benchmark() throws Exception {
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        final BenchmarkCorpus corpus = new BenchmarkCorpus(new File(context.getCacheDir(), "corpus"), SEED);
+        final File pdfFile = corpus.createPdf(context, "document", PDF_PAGE_COUNT);
+        assertEquals(PDF_PAGE_COUNT, BenchmarkCorpus.readPageCount(pdfFile));
+
+        final PdfBenchmark benchmark = new PdfBenchmark(context, new File(context.getCacheDir(), "output"), WARMUP_COUNT, ITERATION_COUNT);
+
+        // 读取：列表/逐页 × 冷/热缓存 × 像素格式
+        final Bitmap.Config[] configs = {Bitmap.Config.ARGB_8888, Bitmap.Config.RGB_565};
+        for (boolean streaming : new boolean[]{false, true}) {
+            for (boolean cold : new boolean[]{true, false}) {
+                for (Bitmap.Config config : configs) {
+                    PdfRenderOptions options = new PdfRenderOptions()
+                            .setDpi(150)
+                            .setConfig(config);
+                    String name = "read/" + (streaming ? "page" : "list") + "/" + (cold ? "cold" : "warm") + "/" + config;
+                    System.out.println(benchmark.runRead(name, pdfFile, PDF_PAGE_COUNT, options, streaming, cold));
+                }
+            }
+        }
+        benchmark.clearCache();
+
+        final File resultFile = new File(context.getExternalFilesDir(null), "benchmark/read_results.json");
+        benchmark.writeJson(resultFile);
+        System.out.println("PdfReadBenchmark: " + resultFile.getAbsolutePath());
+
+        for (BenchmarkResult result : benchmark.getResultList()) {
+            assertEquals(result.getName(), 0, result.getFailCount());
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.pdf.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.net.Uri;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import com.pdf.PdfHelper;
+import com.pdf.PdfOutput;
+import com.pdf.PdfPageSize;
+import com.pdf.PdfTask;
+import com.pdf.PdfWriteCallback;
+import com.pdf.PdfWriteOptions;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 基准测试用的合成语料
+ * 按固定种子生成不同尺寸、方向和格式的图片，以及多页Pdf，保证每次运行的输入相同
+ * Created by lishilin on 2026/10/18
+ */
+public class BenchmarkCorpus {
+
+    // 图片尺寸：VGA、1080p、12MP
+    private static final int[][] SIZES = {
+            {640, 480},
+            {1920, 1080},
+            {4032, 3024},
+    };
+
+    private static final Bitmap.CompressFormat[] FORMATS = {
+            Bitmap.CompressFormat.JPEG,
+            Bitmap.CompressFormat.PNG,
+            Bitmap.CompressFormat.WEBP,
+    };
+
+    // 只有JPEG写入Exif方向
+    private static final int[] ORIENTATIONS = {
+            ExifInterface.ORIENTATION_NORMAL,
+            ExifInterface.ORIENTATION_ROTATE_90,
+            ExifInterface.ORIENTATION_ROTATE_180,
+            ExifInterface.ORIENTATION_ROTATE_270,
+    };
+
+    private static final int QUALITY = 90;
+
+    private static final int PDF_IMAGE_COUNT = 5;// 生成Pdf时使用几张不同的页面图片
+    private static final Pattern PAGES_PATTERN = Pattern.compile("/Type\\s*/Pages\\b[^>]*?/Count\\s+(\\d+)");
+
+    private final File directory;
+    private final Random random;
+
+    /**
+     * @param directory 输出目录
+     * @param seed      随机种子
+     */
+    public BenchmarkCorpus(File directory, long seed) {
+        this.directory = directory;
+        this.random = new Random(seed);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalStateException("无法创建目录：" + directory);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 生成图片
+     * 依次轮换尺寸、格式和方向，count 为 36 时覆盖所有组合
+     *
+     * @param count 数量
+     * @return uriList
+     * @throws IOException IOException
+     */
+    public List<Uri> createImages(int count) throws IOException {
+        List<Uri> uriList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int[] size = SIZES[i % SIZES.length];
+            final Bitmap.CompressFormat format = FORMATS[(i / SIZES.length) % FORMATS.length];
+            final int orientation = ORIENTATIONS[(i / (SIZES.length * FORMATS.length)) % ORIENTATIONS.length];
+            File file = createImage("image_" + i, size[0], size[1], format, orientation);
+            uriList.add(Uri.fromFile(file));
+        }
+        return uriList;
+    }
+
+    /**
+     * 生成单张图片
+     *
+     * @param name        文件名(不含扩展名)
+     * @param width       宽度
+     * @param height      高度
+     * @param format      格式
+     * @param orientation Exif方向(仅JPEG)
+     * @return file
+     * @throws IOException IOException
+     */
+    public File createImage(String name, int width, int height, Bitmap.CompressFormat format, int orientation) throws IOException {
+        final File file = new File(directory, name + getExtension(format));
+        final Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        try {
+            drawContent(new Canvas(bitmap), width, height);
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+                bitmap.compress(format, QUALITY, outputStream);
+            }
+        } finally {
+            bitmap.recycle();
+        }
+        if (format == Bitmap.CompressFormat.JPEG && orientation != ExifInterface.ORIENTATION_NORMAL) {
+            ExifInterface exif = new ExifInterface(file.getAbsolutePath());
+            exif.setAttribute(ExifInterface.TAG_ORIENTATION, String.valueOf(orientation));
+            exif.saveAttributes();
+        }
+        return file;
+    }
+
+    /**
+     * 生成多页Pdf
+     * 使用直接写入引擎把A4比例的JPEG原样写入，得到可以被PdfRenderer打开的真实文档
+     * (PdfDocument在Robolectric中为模拟实现，不能用于生成语料)
+     *
+     * @param context   context
+     * @param name      文件名(不含扩展名)
+     * @param pageCount 页数
+     * @return file
+     * @throws IOException IOException
+     */
+    public File createPdf(Context context, String name, int pageCount) throws IOException {
+        // A4，150dpi，不同的页面图片轮流使用
+        final int imageCount = Math.min(pageCount, PDF_IMAGE_COUNT);
+        final List<Uri> imageList = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            File image = createImage(name + "_page_" + i, 1240, 1754, Bitmap.CompressFormat.JPEG, ExifInterface.ORIENTATION_NORMAL);
+            imageList.add(Uri.fromFile(image));
+        }
+        final List<Uri> uriList = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            uriList.add(imageList.get(i % imageCount));
+        }
+
+        final File file = new File(directory, name + ".pdf");
+        final PdfWriteOptions options = new PdfWriteOptions()
+                .setEngine(PdfWriteOptions.ENGINE_DIRECT)
+                .setPageSize(PdfPageSize.a4(150));
+        final Exception[] error = new Exception[1];
+        PdfHelper.getInstance().photoToPdf(context, uriList, PdfOutput.fromFile(file), options, new PdfTask(), new PdfWriteCallback() {
+            @Override
+            public void onCancel() {
+                error[0] = new IllegalStateException("已取消！");
+            }
+
+            @Override
+            public void onFail(Exception e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw new IOException("生成Pdf失败：" + file, error[0]);
+        }
+        return file;
+    }
+
+    /**
+     * 读取Pdf的页数
+     * 从页面树(/Type /Pages)中读取 /Count，只支持未压缩的页面树(如直接写入引擎生成的Pdf)
+     *
+     * @param file Pdf
+     * @return 页数，没有找到页面树返回-1
+     * @throws IOException IOException
+     */
+    public static int readPageCount(File file) throws IOException {
+        final byte[] data = new byte[(int) file.length()];
+        try (DataInputStream inputStream = new DataInputStream(new FileInputStream(file))) {
+            inputStream.readFully(data);
+        }
+        final Matcher matcher = PAGES_PATTERN.matcher(new String(data, "ISO-8859-1"));
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * 绘制内容：渐变背景加随机的矩形、圆和文字，避免纯色图片的压缩比失真
+     *
+     * @param canvas canvas
+     * @param width  宽度
+     * @param height 高度
+     */
+    private void drawContent(Canvas canvas, int width, int height) {
+        final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setShader(new LinearGradient(0, 0, width, height, randomColor(), randomColor(), Shader.TileMode.CLAMP));
+        canvas.drawRect(0, 0, width, height, paint);
+        paint.setShader(null);
+
+        final int shapeCount = 20 + random.nextInt(20);
+        for (int i = 0; i < shapeCount; i++) {
+            paint.setColor(randomColor());
+            final float x = random.nextFloat() * width;
+            final float y = random.nextFloat() * height;
+            final float r = (0.02f + random.nextFloat() * 0.1f) * Math.min(width, height);
+            if (random.nextBoolean()) {
+                canvas.drawCircle(x, y, r, paint);
+            } else {
+                canvas.drawRect(x - r, y - r, x + r, y + r, paint);
+            }
+        }
+
+        paint.setColor(Color.BLACK);
+        paint.setTextSize(Math.max(12, height / 40f));
+        for (int i = 0; i < 10; i++) {
+            canvas.drawText("PdfBenchmark " + random.nextLong(), width * 0.05f, height * (i + 1) / 11f, paint);
+        }
+    }
+
+    private int randomColor() {
+        return Color.rgb(random.nextInt(256), random.nextInt(256), random.nextInt(256));
+    }
+
+    private static String getExtension(Bitmap.CompressFormat format) {
+        switch (format) {
+            case PNG:
+                return ".png";
+            case WEBP:
+                return ".webp";
+            default:
+                return ".jpg";
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.pdf.benchmark;
+
+import androidx.annotation.NonNull;
+
+import com.pdf.PdfMetrics;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个场景的基准测试结果
+ * 记录每次迭代的耗时和 {@link PdfMetrics}，输出为JSON
+ * Created by lishilin on 2026/10/18
+ */
+public class BenchmarkResult {
+
+    private final String name;
+    private final Map<String, Object> params = new LinkedHashMap<>();// 场景参数
+    private final int pageCount;
+
+    private final List<Long> timeList = new ArrayList<>();// 每次迭代的耗时(纳秒)
+    private final List<PdfMetrics> metricsList = new ArrayList<>();
+    private long outputBytes;
+    private int failCount;
+
+    BenchmarkResult(String name, int pageCount) {
+        this.name = name;
+        this.pageCount = pageCount;
+    }
+
+    BenchmarkResult param(String key, Object value) {
+        params.put(key, value);
+        return this;
+    }
+
+    void add(long time, PdfMetrics metrics) {
+        timeList.add(time);
+        if (metrics != null) {
+            metricsList.add(metrics);
+        }
+    }
+
+    void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+
+    void addFail() {
+        failCount++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getFailCount() {
+        return failCount;
+    }
+
+    /**
+     * 获取耗时中位数
+     *
+     * @return 毫秒
+     */
+    public double getMedianTime() {
+        if (timeList.isEmpty()) {
+            return 0;
+        }
+        List<Long> sortList = new ArrayList<>(timeList);
+        Collections.sort(sortList);
+        final int size = sortList.size();
+        final long median = size % 2 == 1 ? sortList.get(size / 2) : (sortList.get(size / 2 - 1) + sortList.get(size / 2)) / 2;
+        return median / 1000000.0;
+    }
+
+    /**
+     * 获取每秒页数(按耗时中位数)
+     *
+     * @return 页/秒
+     */
+    public double getPagesPerSecond() {
+        final double time = getMedianTime();
+        return time > 0 ? pageCount * 1000 / time : 0;
+    }
+
+    /**
+     * 获取所有迭代中Bitmap占用的最大峰值内存
+     *
+     * @return 字节数
+     */
+    public long getPeakBitmapBytes() {
+        long peak = 0;
+        for (PdfMetrics metrics : metricsList) {
+            peak = Math.max(peak, metrics.getPeakBitmapBytes());
+        }
+        return peak;
+    }
+
+    /**
+     * 获取每次迭代平均新分配的Bitmap数
+     *
+     * @return 个数
+     */
+    public double getAverageAllocationCount() {
+        if (metricsList.isEmpty()) {
+            return 0;
+        }
+        long sum = 0;
+        for (PdfMetrics metrics : metricsList) {
+            sum += metrics.getAllocationCount();
+        }
+        return (double) sum / metricsList.size();
+    }
+
+    public JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("name", name);
+        json.put("params", new JSONObject(params));
+        json.put("pageCount", pageCount);
+        json.put("iterations", timeList.size());
+        json.put("failCount", failCount);
+        json.put("medianTimeMs", getMedianTime());
+        json.put("pagesPerSecond", getPagesPerSecond());
+        json.put("peakBitmapBytes", getPeakBitmapBytes());
+        json.put("allocationCount", getAverageAllocationCount());
+        json.put("outputBytes", outputBytes);
+
+        JSONArray times = new JSONArray();
+        for (long time : timeList) {
+            times.put(time / 1000000.0);
+        }
+        json.put("timesMs", times);
+
+        // 各阶段耗时取最后一次迭代
+        if (!metricsList.isEmpty()) {
+            PdfMetrics metrics = metricsList.get(metricsList.size() - 1);
+            JSONObject stages = new JSONObject();
+            for (int stage = PdfMetrics.STAGE_PLAN; stage <= PdfMetrics.STAGE_RENDER; stage++) {
+                if (metrics.getStageCount(stage) > 0) {
+                    stages.put(PdfMetrics.getStageName(stage), metrics.getStageTime(stage));
+                }
+            }
+            json.put("stagesMs", stages);
+            json.put("inputBytes", metrics.getInputBytes());
+            json.put("decodedBytes", metrics.getDecodedBytes());
+        }
+        return json;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format("%-48s %8.1f ms %8.2f pages/s peak=%dKB alloc=%.1f fail=%d",
+                name, getMedianTime(), getPagesPerSecond(), getPeakBitmapBytes() / 1024, getAverageAllocationCount(), failCount);
+    }
+
+}
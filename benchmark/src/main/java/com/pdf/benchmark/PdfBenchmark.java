@@ -0,0 +1,288 @@
+package com.pdf.benchmark;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Build;
+
+import com.pdf.PdfHelper;
+import com.pdf.PdfMetrics;
+import com.pdf.PdfOutput;
+import com.pdf.PdfPageCallback;
+import com.pdf.PdfReadCallback;
+import com.pdf.PdfRenderOptions;
+import com.pdf.PdfTask;
+import com.pdf.PdfWriteCallback;
+import com.pdf.PdfWriteOptions;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试
+ * 每个场景先预热，再同步运行若干次，记录耗时和 {@link PdfMetrics}，结果可输出为JSON
+ * Created by lishilin on 2026/10/18
+ */
+public class PdfBenchmark {
+
+    private final Context context;
+    private final File outputDirectory;
+    private final int warmupCount;
+    private final int iterationCount;
+
+    private final List<BenchmarkResult> resultList = new ArrayList<>();
+
+    /**
+     * @param context         context
+     * @param outputDirectory 生成的Pdf的临时目录
+     * @param warmupCount     预热次数
+     * @param iterationCount  计时次数
+     */
+    public PdfBenchmark(Context context, File outputDirectory, int warmupCount, int iterationCount) {
+        this.context = context;
+        this.outputDirectory = outputDirectory;
+        this.warmupCount = warmupCount;
+        this.iterationCount = iterationCount;
+        if (!outputDirectory.exists() && !outputDirectory.mkdirs()) {
+            throw new IllegalStateException("无法创建目录：" + outputDirectory);
+        }
+    }
+
+    public List<BenchmarkResult> getResultList() {
+        return resultList;
+    }
+
+    /**
+     * 图片生成Pdf
+     *
+     * @param name    场景名称
+     * @param uriList uriList
+     * @param options 生成配置
+     * @return BenchmarkResult
+     */
+    public BenchmarkResult runWrite(String name, List<Uri> uriList, PdfWriteOptions options) {
+        final BenchmarkResult result = new BenchmarkResult(name, uriList.size())
+                .param("type", "write")
+                .param("engine", options.getEngine() == PdfWriteOptions.ENGINE_DIRECT ? "direct" : "canvas")
+                .param("parallelism", options.getParallelism())
+                .param("pageSize", String.valueOf(options.getPageSize()));
+
+        final File outputFile = new File(outputDirectory, "output.pdf");
+        for (int i = 0; i < warmupCount + iterationCount; i++) {
+            final WriteCallback callback = new WriteCallback();
+            final long start = System.nanoTime();
+            PdfHelper.getInstance().photoToPdf(context, uriList, PdfOutput.fromFile(outputFile), options, new PdfTask(), callback);
+            final long time = System.nanoTime() - start;
+
+            if (i < warmupCount) {
+                continue;
+            }
+            if (callback.exception != null) {
+                callback.exception.printStackTrace();
+                result.addFail();
+                continue;
+            }
+            result.add(time, callback.metrics);
+            result.setOutputBytes(callback.length);
+        }
+        //noinspection ResultOfMethodCallIgnored
+        outputFile.delete();
+
+        resultList.add(result);
+        return result;
+    }
+
+    /**
+     * 读取Pdf
+     *
+     * @param name      场景名称
+     * @param file      Pdf
+     * @param pageCount 页数
+     * @param options   渲染配置
+     * @param streaming 是否逐页读取
+     * @param cold      是否每次清空缓存
+     * @return BenchmarkResult
+     */
+    public BenchmarkResult runRead(String name, File file, int pageCount, PdfRenderOptions options, boolean streaming, boolean cold) {
+        final BenchmarkResult result = new BenchmarkResult(name, pageCount)
+                .param("type", "read")
+                .param("mode", streaming ? "page" : "list")
+                .param("cache", cold ? "cold" : "warm")
+                .param("config", String.valueOf(options.getConfig()))
+                .param("dpi", options.getDpi());
+
+        final PdfHelper pdfHelper = PdfHelper.getInstance();
+        clearCache();
+        for (int i = 0; i < warmupCount + iterationCount; i++) {
+            if (cold) {
+                clearCache();
+            }
+            final PdfMetrics metrics;
+            final Exception exception;
+            final long start = System.nanoTime();
+            if (streaming) {
+                PageCallback callback = new PageCallback();
+                pdfHelper.readPdf(context, file, options, new PdfTask(), callback);
+                metrics = callback.metrics;
+                exception = callback.exception;
+            } else {
+                ReadCallback callback = new ReadCallback();
+                pdfHelper.readPdf(context, file, options, new PdfTask(), callback);
+                metrics = callback.metrics;
+                exception = callback.exception;
+            }
+            final long time = System.nanoTime() - start;
+
+            if (i < warmupCount) {
+                continue;
+            }
+            if (exception != null) {
+                exception.printStackTrace();
+                result.addFail();
+                continue;
+            }
+            result.add(time, metrics);
+        }
+
+        resultList.add(result);
+        return result;
+    }
+
+    /**
+     * 清空内存缓存、磁盘缓存和Bitmap复用池
+     */
+    public void clearCache() {
+        final PdfHelper pdfHelper = PdfHelper.getInstance();
+        pdfHelper.getPageCache().clear();
+        pdfHelper.getDiskCache(context).clear();
+        pdfHelper.getBitmapPool().clear();
+    }
+
+    /**
+     * 输出所有结果
+     *
+     * @return JSON
+     * @throws JSONException JSONException
+     */
+    public JSONObject toJson() throws JSONException {
+        JSONObject environment = new JSONObject();
+        environment.put("sdkInt", Build.VERSION.SDK_INT);
+        environment.put("manufacturer", Build.MANUFACTURER);
+        environment.put("model", Build.MODEL);
+        environment.put("fingerprint", Build.FINGERPRINT);
+        environment.put("processors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxMemory", Runtime.getRuntime().maxMemory());
+        environment.put("javaVersion", System.getProperty("java.version"));
+
+        JSONArray results = new JSONArray();
+        for (BenchmarkResult result : resultList) {
+            results.put(result.toJson());
+        }
+
+        JSONObject json = new JSONObject();
+        json.put("timestamp", System.currentTimeMillis());
+        json.put("warmup", warmupCount);
+        json.put("iterations", iterationCount);
+        json.put("environment", environment);
+        json.put("results", results);
+        return json;
+    }
+
+    /**
+     * 写入JSON文件
+     *
+     * @param file file
+     * @throws IOException   IOException
+     * @throws JSONException JSONException
+     */
+    public void writeJson(File file) throws IOException, JSONException {
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("无法创建目录：" + parent);
+        }
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(toJson().toString(2).getBytes("UTF-8"));
+        }
+    }
+
+    private static class WriteCallback extends PdfWriteCallback {
+        private PdfMetrics metrics;
+        private Exception exception;
+        private long length;
+
+        @Override
+        public void onSuccess(PdfOutput output, long length) {
+            this.length = length;
+        }
+
+        @Override
+        public void onMetrics(PdfMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onCancel() {
+            exception = new IllegalStateException("已取消！");
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            exception = e;
+        }
+    }
+
+    private static class ReadCallback extends PdfReadCallback {
+        private PdfMetrics metrics;
+        private Exception exception;
+
+        @Override
+        public void onMetrics(PdfMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onCancel() {
+            exception = new IllegalStateException("已取消！");
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            exception = e;
+        }
+    }
+
+    private static class PageCallback extends PdfPageCallback {
+        private PdfMetrics metrics;
+        private Exception exception;
+
+        @Override
+        public void onPage(int pageIndex, int total, Bitmap bitmap) {
+            // 逐页模式下页面由调用方持有，用完立即归还
+            PdfHelper.getInstance().releaseBitmap(bitmap);
+        }
+
+        @Override
+        public void onMetrics(PdfMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onCancel() {
+            exception = new IllegalStateException("已取消！");
+        }
+
+        @Override
+        public void onFail(Exception e) {
+            exception = e;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.pdf.benchmark;
+
+import android.content.Context;
+import android.net.Uri;
+
+import com.pdf.PdfPageSize;
+import com.pdf.PdfWriteOptions;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 在JVM中运行生成Pdf的基准测试
+ * ./gradlew :benchmark:testDebugUnitTest
+ * 结果写入 benchmark/build/outputs/benchmark/results.json
+ * 注意：Robolectric中Bitmap和Canvas使用原生图形库，PdfRenderer和PdfDocument为模拟实现，
+ * 结果只用于同一环境下的前后对比，不能代表真机的绝对性能；
+ * 读取Pdf依赖PdfRenderer，在JVM中没有意义，由设备上运行的 PdfReadBenchmarkTest 测量
+ * Created by lishilin on 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 29)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class PdfBenchmarkTest {
+
+    private static final long SEED = 20261018;
+    private static final int IMAGE_COUNT = 36;// 覆盖所有尺寸、格式和方向的组合
+    private static final int PDF_PAGE_COUNT = 50;
+    private static final int WARMUP_COUNT = 1;
+    private static final int ITERATION_COUNT = 3;
+
+    @Test
+    public void benchmark() throws Exception {
+        final Context context = RuntimeEnvironment.getApplication();
+        final File outputDirectory = new File(System.getProperty("pdf.benchmark.output", "build/outputs/benchmark"));
+
+        final BenchmarkCorpus corpus = new BenchmarkCorpus(new File(context.getCacheDir(), "corpus"), SEED);
+        final List<Uri> uriList = corpus.createImages(IMAGE_COUNT);
+
+        final PdfBenchmark benchmark = new PdfBenchmark(context, new File(context.getCacheDir(), "output"), WARMUP_COUNT, ITERATION_COUNT);
+
+        // 生成：引擎 × 并行数 × 页面尺寸
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int[] engines = {PdfWriteOptions.ENGINE_CANVAS, PdfWriteOptions.ENGINE_DIRECT};
+        final int[] parallelisms = processors > 1 ? new int[]{1, processors} : new int[]{1};
+        final PdfPageSize[] pageSizes = {PdfPageSize.a4(150), PdfPageSize.maxLongEdge(2048, 150)};
+        for (int engine : engines) {
+            for (int parallelism : parallelisms) {
+                for (PdfPageSize pageSize : pageSizes) {
+                    PdfWriteOptions options = new PdfWriteOptions()
+                            .setEngine(engine)
+                            .setParallelism(parallelism)
+                            .setPageSize(pageSize);
+                    String name = "write/" + (engine == PdfWriteOptions.ENGINE_DIRECT ? "direct" : "canvas")
+                            + "/p" + parallelism + "/" + (pageSize.isFitImage() ? "fit" : "a4");
+                    System.out.println(benchmark.runWrite(name, uriList, options));
+                }
+            }
+        }
+        benchmark.clearCache();
+
+        final File resultFile = new File(outputDirectory, "results.json");
+        benchmark.writeJson(resultFile);
+        System.out.println("PdfBenchmark: " + resultFile.getAbsolutePath());
+
+        for (BenchmarkResult result : benchmark.getResultList()) {
+            assertEquals(result.getName(), 0, result.getFailCount());
+        }
+    }
+
+    /**
+     * 读取基准测试使用的Pdf是直接写入生成的真实文档，页数应与请求的相同
+     */
+    @Test
+    public void corpusPdf() throws Exception {
+        final Context context = RuntimeEnvironment.getApplication();
+        final BenchmarkCorpus corpus = new BenchmarkCorpus(new File(context.getCacheDir(), "corpus"), SEED);
+        final File pdfFile = corpus.createPdf(context, "document", PDF_PAGE_COUNT);
+        assertEquals(PDF_PAGE_COUNT, BenchmarkCorpus.readPageCount(pdfFile));
+    }
+
+}